@@ -1,14 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.exception.IncorrectEnumException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 
@@ -21,33 +19,38 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerClientFactory clients) {
+        super(clients.restTemplate(API_PREFIX), clients.webClient(API_PREFIX), clients.responseCache());
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookItemRequestDto requestDto)
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookItemRequestDto requestDto)
             throws IncorrectFieldException {
         checkCorrectTime(requestDto);
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> changeStatus(Long ownerId, Long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> changeStatus(Long ownerId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved=" + approved, ownerId, parameters);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBooker(long bookerId, String state, Integer from, Integer size)
+    public Mono<ResponseEntity<Object>> getBookingsByBooker(long bookerId, String state, Integer from, Integer size,
+                                                            String cursor)
             throws IncorrectEnumException {
         checkState(state);
+        if (cursor != null) {
+            checkCursorParams(size);
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("?state={state}&cursor={cursor}&size={size}", bookerId, parameters);
+        }
         if ((from == null) || (size == null)) {
             return get("?state=" + state, bookerId);
         }
@@ -60,9 +63,19 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", bookerId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, String state, Integer from, Integer size)
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(Long ownerId, String state, Integer from, Integer size,
+                                                           String cursor)
             throws IncorrectEnumException {
         checkState(state);
+        if (cursor != null) {
+            checkCursorParams(size);
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/owner?state={state}&cursor={cursor}&size={size}", ownerId, parameters);
+        }
         if ((from == null) || (size == null)) {
             return get("/owner?state=" + state, ownerId);
         }
@@ -101,4 +114,10 @@ public class BookingClient extends BaseClient {
             throw new IllegalArgumentException("Page size cannot be less or equal zero");
         }
     }
+
+    private void checkCursorParams(Integer size) {
+        if (size == null || size <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero when a cursor is specified");
+        }
+    }
 }
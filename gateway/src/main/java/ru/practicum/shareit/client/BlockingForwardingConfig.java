@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.forwarding", havingValue = "blocking", matchIfMissing = true)
+public class BlockingForwardingConfig {
+    @Bean
+    public SmartInitializingSingleton completedMonoReturnValueHandler(RequestMappingHandlerAdapter adapter) {
+        return () -> {
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+            HandlerMethodReturnValueHandler entityHandler = handlers.stream()
+                    .filter(HttpEntityMethodProcessor.class::isInstance)
+                    .findFirst()
+                    .orElseThrow();
+            handlers.add(0, new CompletedMonoReturnValueHandler(entityHandler));
+            adapter.setReturnValueHandlers(handlers);
+        };
+    }
+
+    private static class CompletedMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+        private final HandlerMethodReturnValueHandler entityHandler;
+
+        CompletedMonoReturnValueHandler(HandlerMethodReturnValueHandler entityHandler) {
+            this.entityHandler = entityHandler;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return Mono.class.isAssignableFrom(returnType.getParameterType());
+        }
+
+        @Override
+        public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object entity = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+            entityHandler.handleReturnValue(entity, returnType, mavContainer, webRequest);
+        }
+    }
+}
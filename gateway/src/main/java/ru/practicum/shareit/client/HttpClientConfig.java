@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+    public static final String CLIENT_NAME = "shareit-server";
+
+    @Bean
+    public TimedConnectionManager shareItServerConnectionManager(
+            @Value("${shareit-server.http-client.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http-client.max-connections-per-route:100}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.http-client.time-to-live:5m}") Duration timeToLive,
+            @Value("${shareit-server.http-client.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        TimedConnectionManager connectionManager = new TimedConnectionManager(timeToLive.toMillis(), CLIENT_NAME);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public HttpClient shareItServerHttpClient(
+            TimedConnectionManager connectionManager,
+            @Value("${shareit-server.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http-client.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit-server.http-client.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http-client.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${shareit-server.http-client.keep-alive:30s}") Duration keepAlive) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? serverKeepAlive : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(HttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.forwarding", havingValue = "reactive")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.http-client.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.http-client.max-pending-acquires:1000}") int maxPendingAcquires,
+            @Value("${shareit-server.http-client.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http-client.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${shareit-server.http-client.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder(CLIENT_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleTimeout)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.forwarding", havingValue = "reactive")
+    public ClientHttpConnector shareItServerConnector(
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-server.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http-client.read-timeout:30s}") Duration readTimeout) {
+        return new ReactorClientHttpConnector(reactor.netty.http.client.HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+    }
+}
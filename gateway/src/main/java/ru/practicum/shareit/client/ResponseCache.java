@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ResponseCache {
+    public static final String CACHE_NAME = "gatewayResponses";
+    public static final String REQUESTS_METER_NAME = "gateway.response.cache.requests";
+    public static final String SAVED_METER_NAME = "gateway.response.cache.saved";
+
+    private final Cache<Key, ResponseEntity<byte[]>> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter savedBytes;
+
+    public ResponseCache(@Value("${shareit-server.response-cache.max-size:10000}") long maxSize,
+                         @Value("${shareit-server.response-cache.ttl:10m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.hits = Counter.builder(REQUESTS_METER_NAME)
+                .description("Revalidated GETs answered from the gateway cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS_METER_NAME)
+                .description("Revalidated GETs that fetched a body from the server")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.savedBytes = Counter.builder(SAVED_METER_NAME)
+                .description("Response bytes not transferred from the server thanks to 304 answers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Nullable
+    public ResponseEntity<byte[]> get(String uri, @Nullable Long userId) {
+        return cache.getIfPresent(new Key(uri, userId));
+    }
+
+    public ResponseEntity<byte[]> revalidated(String uri, @Nullable Long userId,
+                                              @Nullable ResponseEntity<byte[]> cached,
+                                              ResponseEntity<byte[]> response) {
+        Key key = new Key(uri, userId);
+        if (cached != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+            hits.increment();
+            savedBytes.increment(cached.hasBody() ? cached.getBody().length : 0);
+            return cached;
+        }
+        misses.increment();
+        if (HttpStatus.Series.resolve(response.getStatusCodeValue()) == HttpStatus.Series.SUCCESSFUL
+                && response.getHeaders().getETag() != null) {
+            cache.put(key, response);
+        } else {
+            cache.invalidate(key);
+        }
+        return response;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String uri;
+        private final Long userId;
+    }
+}
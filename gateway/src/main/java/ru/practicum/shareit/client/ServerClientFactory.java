@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+public class ServerClientFactory {
+    private final String serverUrl;
+    private final ForwardingMode forwardingMode;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final WebClient.Builder webClientBuilder;
+    private final ResponseCache responseCache;
+    private final int maxInMemorySize;
+
+    public ServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                               @Value("${shareit-server.forwarding:blocking}") ForwardingMode forwardingMode,
+                               RestTemplateBuilder restTemplateBuilder,
+                               ClientHttpRequestFactory requestFactory,
+                               WebClient.Builder webClientBuilder,
+                               ResponseCache responseCache,
+                               @Value("${shareit-server.max-in-memory-size:16MB}") DataSize maxInMemorySize) {
+        this.serverUrl = serverUrl;
+        this.forwardingMode = forwardingMode;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.responseCache = responseCache;
+        this.maxInMemorySize = (int) maxInMemorySize.toBytes();
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (forwardingMode != ForwardingMode.REACTIVE) {
+            return null;
+        }
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+}
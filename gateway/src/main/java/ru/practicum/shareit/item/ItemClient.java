@@ -1,18 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -20,29 +19,24 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerClientFactory clients) {
+        super(clients.restTemplate(API_PREFIX), clients.webClient(API_PREFIX), clients.responseCache());
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) throws IncorrectFieldException {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) throws IncorrectFieldException {
         checkCorrectItem(itemDto);
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, ItemDto itemDto, Long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, ItemDto itemDto, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long userId) {
+        return getRevalidated("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItemsByUserId(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemsByUserId(Long userId, Integer from, Integer size) {
         if ((from == null) || (size == null)) {
             return get("", userId);
         }
@@ -54,7 +48,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllItemsByByText(String text, Integer from, Integer size, Long userId) {
+    public Mono<ResponseEntity<Object>> getAllItemsByByText(String text, Integer from, Integer size, Long userId) {
         if ((from == null) || (size == null)) {
             return get("/search?text=" + text, userId);
         }
@@ -67,7 +61,19 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto)
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to,
+                                                            Long userId) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The end of the period must be after its start");
+        }
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDto commentDto)
             throws IncorrectFieldException {
         checkTextExists(commentDto);
         return post("/" + itemId + "/comment", userId, commentDto);
@@ -1,13 +1,11 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -18,27 +16,22 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerClientFactory clients) {
+        super(clients.restTemplate(API_PREFIX), clients.webClient(API_PREFIX), clients.responseCache());
     }
 
 
-    public ResponseEntity<Object> createRequest(long userId, ItemRequestDto itemRequestDto)
+    public Mono<ResponseEntity<Object>> createRequest(long userId, ItemRequestDto itemRequestDto)
             throws IncorrectFieldException {
         checkCorrectDescription(itemRequestDto);
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllItemRequestsByRequesterId(Long requesterId) {
+    public Mono<ResponseEntity<Object>> getAllItemRequestsByRequesterId(Long requesterId) {
         return get("", requesterId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Long requesterId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Long requesterId, Integer from, Integer size) {
         if ((from == null) || (size == null)) {
             return get("/all", requesterId);
         }
@@ -50,8 +43,8 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", requesterId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long requesterId, Long requestId) {
-        return get("/" + requestId, requesterId);
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long requesterId, Long requestId) {
+        return getRevalidated("/" + requestId, requesterId);
     }
 
     private void checkCorrectDescription(ItemRequestDto itemRequestDto) throws IncorrectFieldException {
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -20,32 +21,32 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto userDto) throws IncorrectFieldException {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) throws IncorrectFieldException {
         log.info("Creating user {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@RequestBody @Valid UserDto userDto,
-                                         @PathVariable("userId") Long userId) throws IncorrectFieldException {
+    public Mono<ResponseEntity<Object>> update(@RequestBody @Valid UserDto userDto,
+                                               @PathVariable("userId") Long userId) throws IncorrectFieldException {
         log.info("Updating user {}", userDto);
         return userClient.updateUser(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable("userId") Long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable("userId") Long userId) {
         log.info("Delete user {}", userId);
         return userClient.deleteUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         log.info("Get users");
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable("userId") Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable("userId") Long userId) {
         log.info("Get user {}", userId);
         return userClient.getUserById(userId);
     }
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void init() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest, null, new ResponseCache(100, Duration.ofMinutes(1), meterRegistry));
+    }
+
+    @Test
+    void shouldRevalidateCachedResponseWithIfNoneMatch() {
+        HttpHeaders etag = new HttpHeaders();
+        etag.setETag("\"1\"");
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(etag));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag));
+
+        ResponseEntity<Object> first = client.getRevalidated("/1", 1L).block();
+        ResponseEntity<Object> second = client.getRevalidated("/1", 1L).block();
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, first.getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, second.getStatusCode());
+        Assertions.assertArrayEquals(body, (byte[]) second.getBody());
+        Assertions.assertEquals(body.length, meterRegistry.get(ResponseCache.SAVED_METER_NAME).counter().count());
+    }
+
+    @Test
+    void shouldForwardReactiveResponseLargerThanDefaultCodecLimit() {
+        byte[] largeBody = new byte[512 * 1024];
+        Arrays.fill(largeBody, (byte) 'a');
+        ClientHttpConnector connector = (method, uri, requestCallback) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.setBody(new String(largeBody, StandardCharsets.UTF_8));
+            return requestCallback.apply(new MockClientHttpRequest(method, uri)).thenReturn(response);
+        };
+        ResponseCache responseCache = new ResponseCache(100, Duration.ofMinutes(1), meterRegistry);
+        ServerClientFactory factory = new ServerClientFactory("http://localhost:9090", ForwardingMode.REACTIVE,
+                new RestTemplateBuilder(), new SimpleClientHttpRequestFactory(),
+                WebClient.builder().clientConnector(connector), responseCache, DataSize.ofMegabytes(1));
+        BaseClient reactiveClient = new BaseClient(factory.restTemplate("/items"), factory.webClient("/items"),
+                factory.responseCache());
+
+        ResponseEntity<Object> response = reactiveClient.get("/1", 1L).block();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(largeBody, (byte[]) response.getBody());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+public class ResponseCacheTest {
+    private static final String URI = "http://localhost:9090/items/1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseEntity<byte[]> tagged = ResponseEntity.ok()
+            .eTag("\"1\"")
+            .body("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    private ResponseCache cache;
+
+    @BeforeEach
+    void init() {
+        cache = new ResponseCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldStoreSuccessfulResponseWithEtag() {
+        ResponseEntity<byte[]> response = cache.revalidated(URI, 1L, null, tagged);
+
+        Assertions.assertSame(tagged, response);
+        Assertions.assertSame(tagged, cache.get(URI, 1L));
+        Assertions.assertNull(cache.get(URI, 2L));
+        Assertions.assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromCacheAndCountSavedBytes() {
+        cache.revalidated(URI, 1L, null, tagged);
+
+        ResponseEntity<byte[]> response = cache.revalidated(URI, 1L, cache.get(URI, 1L),
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"1\"").build());
+
+        Assertions.assertSame(tagged, response);
+        Assertions.assertEquals(1.0, requests("hit"));
+        Assertions.assertEquals(tagged.getBody().length,
+                meterRegistry.get(ResponseCache.SAVED_METER_NAME).counter().count());
+    }
+
+    @Test
+    void shouldInvalidateOnSuccessfulResponseWithoutEtag() {
+        cache.revalidated(URI, 1L, null, tagged);
+
+        cache.revalidated(URI, 1L, cache.get(URI, 1L), ResponseEntity.ok(new byte[0]));
+
+        Assertions.assertNull(cache.get(URI, 1L));
+    }
+
+    @Test
+    void shouldInvalidateOnNotFound() {
+        cache.revalidated(URI, 1L, null, tagged);
+
+        cache.revalidated(URI, 1L, cache.get(URI, 1L), ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        Assertions.assertNull(cache.get(URI, 1L));
+        Assertions.assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void shouldInvalidateOnServerError() {
+        cache.revalidated(URI, 1L, null, tagged);
+
+        ResponseEntity<byte[]> error = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).eTag("\"2\"").build();
+        ResponseEntity<byte[]> response = cache.revalidated(URI, 1L, cache.get(URI, 1L), error);
+
+        Assertions.assertSame(error, response);
+        Assertions.assertNull(cache.get(URI, 1L));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get(ResponseCache.REQUESTS_METER_NAME).tag("result", result).counter().count();
+    }
+}
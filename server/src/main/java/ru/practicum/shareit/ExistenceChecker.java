@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class ExistenceChecker {
+    public static final String CACHE_NAME = "existence";
+
+    private final EntityManager em;
+    private final boolean cacheEnabled;
+    private final Cache<Key, Boolean> cache;
+    private final Map<Key, Object> loading = new ConcurrentHashMap<>();
+
+    public ExistenceChecker(EntityManager em,
+                            @Value("${shareit.existence.cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${shareit.existence.cache.max-size:100000}") long maxSize,
+                            @Value("${shareit.existence.cache.ttl:10m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.em = em;
+        this.cacheEnabled = cacheEnabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean exists(Class<?> type, Long id) {
+        return id != null && existing(type, List.of(id)).contains(id);
+    }
+
+    public Set<Long> existing(Class<?> type, Collection<Long> ids) {
+        Set<Long> result = new HashSet<>();
+        Map<Key, Object> probes = new HashMap<>();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            Key key = new Key(type, id);
+            Boolean cached = cacheEnabled ? cache.getIfPresent(key) : null;
+            if (cached == null) {
+                probes.put(key, new Object());
+            } else if (cached) {
+                result.add(id);
+            }
+        }
+        if (probes.isEmpty()) {
+            return result;
+        }
+        if (cacheEnabled) {
+            loading.putAll(probes);
+        }
+        try {
+            Set<Long> found = new HashSet<>(probe(type, probes.keySet()));
+            result.addAll(found);
+            if (cacheEnabled) {
+                probes.forEach((key, load) -> cache.asMap().compute(key,
+                        (k, current) -> loading.get(k) == load ? found.contains(k.id) : current));
+            }
+            return result;
+        } finally {
+            if (cacheEnabled) {
+                probes.forEach(loading::remove);
+            }
+        }
+    }
+
+    public void evict(Class<?> type, Long id) {
+        afterCompletion(() -> {
+            Key key = new Key(type, id);
+            loading.remove(key);
+            cache.invalidate(key);
+        });
+    }
+
+    public void evictAll() {
+        afterCompletion(() -> {
+            loading.clear();
+            cache.invalidateAll();
+        });
+    }
+
+    private List<Long> probe(Class<?> type, Set<Key> keys) {
+        List<Long> ids = keys.stream().map(key -> key.id).collect(Collectors.toList());
+        return em.createQuery("select e.id from " + em.getMetamodel().entity(type).getName()
+                        + " e where e.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Class<?> type;
+        private final Long id;
+    }
+}
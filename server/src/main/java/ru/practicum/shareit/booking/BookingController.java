@@ -2,9 +2,11 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.IncorrectEnumException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
@@ -16,12 +18,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @PostMapping
     public BookingDto create(@RequestHeader(value = "X-Sharer-User-Id") Long ownerId,
                              @RequestBody BookingDto bookingDto)
-            throws IncorrectObjectException, IncorrectFieldException {
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException {
         bookingDto = bookingService.addNewBooking(ownerId, bookingDto);
         log.info("POST /bookings {}", bookingDto);
         return bookingDto;
@@ -31,7 +34,7 @@ public class BookingController {
     public BookingDtoForUpdateAndGet changeStatus(@RequestHeader(value = "X-Sharer-User-Id") Long ownerId,
                                                   @PathVariable("bookingId") Long bookingId,
                                                   @RequestParam boolean approved)
-            throws IncorrectObjectException, IncorrectFieldException {
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException {
         BookingDtoForUpdateAndGet booking = bookingService.changeBookingStatus(ownerId, bookingId, approved);
         log.info("PATCH /bookings/{}?approved={} by owner id={}", bookingId, approved, ownerId);
         return booking;
@@ -46,22 +49,44 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoForUpdateAndGet> findAllByBooker(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                                           @RequestParam(defaultValue = "ALL") String state,
-                                                           @RequestParam(required = false) Integer from,
-                                                           @RequestParam(required = false) Integer size)
+    public ResponseEntity<List<BookingDtoForUpdateAndGet>> findAllByBooker(
+            @RequestHeader("X-Sharer-User-Id") Long bookerId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor)
             throws IncorrectObjectException, IncorrectEnumException {
-        log.info("GET /bookings {} by booker id={} from {}, size {}", state, bookerId, from, size);
-        return bookingService.getAllBookingsByBookerId(bookerId, state, from, size);
+        log.info("GET /bookings {} by booker id={} from {}, size {}, cursor {}", state, bookerId, from, size, cursor);
+        List<BookingDtoForUpdateAndGet> bookings = cursor == null
+                ? bookingService.getAllBookingsByBookerId(bookerId, state, from, size)
+                : bookingService.getAllBookingsByBookerIdAfter(bookerId, state, cursor, size);
+        return withNextCursor(bookings, cursor == null && from == null ? null : size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoForUpdateAndGet> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                          @RequestParam(defaultValue = "ALL") String state,
-                                                          @RequestParam(required = false) Integer from,
-                                                          @RequestParam(required = false) Integer size)
+    public ResponseEntity<List<BookingDtoForUpdateAndGet>> findAllByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor)
             throws IncorrectObjectException, IncorrectEnumException {
-        log.info("GET /bookings/owner {} by owner id={} from {}, size {}", state, ownerId, from, size);
-        return bookingService.getAllBookingsByOwnerId(ownerId, state, from, size);
+        log.info("GET /bookings/owner {} by owner id={} from {}, size {}, cursor {}",
+                state, ownerId, from, size, cursor);
+        List<BookingDtoForUpdateAndGet> bookings = cursor == null
+                ? bookingService.getAllBookingsByOwnerId(ownerId, state, from, size)
+                : bookingService.getAllBookingsByOwnerIdAfter(ownerId, state, cursor, size);
+        return withNextCursor(bookings, cursor == null && from == null ? null : size);
+    }
+
+    private ResponseEntity<List<BookingDtoForUpdateAndGet>> withNextCursor(
+            List<BookingDtoForUpdateAndGet> bookings, Integer size) {
+        if (size == null || bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDtoForUpdateAndGet last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new BookingCursor(last.getStart(), last.getId()).encode())
+                .body(bookings);
     }
 }
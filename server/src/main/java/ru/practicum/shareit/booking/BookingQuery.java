@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingQuery {
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    private final Role role;
+    private final Long userId;
+    private final State state;
+    private final LocalDateTime now;
+    private final Integer from;
+    private final Integer size;
+    private final BookingCursor cursor;
+
+    public static BookingQuery byBooker(Long bookerId, State state, LocalDateTime now) {
+        return new BookingQuery(Role.BOOKER, bookerId, state, now, null, null, null);
+    }
+
+    public static BookingQuery byOwner(Long ownerId, State state, LocalDateTime now) {
+        return new BookingQuery(Role.OWNER, ownerId, state, now, null, null, null);
+    }
+
+    public BookingQuery withPage(Integer from, Integer size) {
+        if (from == null || size == null) {
+            return this;
+        }
+        checkPageSize(size);
+        return new BookingQuery(role, userId, state, now, from, size, null);
+    }
+
+    public BookingQuery withCursor(BookingCursor cursor, Integer size) {
+        checkPageSize(size);
+        return new BookingQuery(role, userId, state, now, null, size, cursor);
+    }
+
+    public boolean isPaged() {
+        return size != null;
+    }
+
+    private static void checkPageSize(Integer size) {
+        if (size == null || size <= 0) {
+            throw new IllegalArgumentException("Page size cannot be less or equal zero");
+        }
+    }
+}
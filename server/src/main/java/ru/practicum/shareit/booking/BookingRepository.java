@@ -1,90 +1,51 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.availability.BookedPeriod;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("select b from Booking b where b.booker.id = ?1 order by b.start desc")
-    List<Booking> findAllByBookerId(Long bookerId);
-
-    @Query("select b from Booking b where b.booker.id = ?1")
-    List<Booking> findAllByBookerIdByPages(Long bookerId, Pageable pageable);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and ?2 between b.start and b.end order by b.start desc")
-    List<Booking> findAllByBookerIdCurrent(Long bookerId, LocalDateTime now);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and ?2 between b.start and b.end")
-    List<Booking> findAllByBookerIdCurrentByPages(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2 order by b.start desc")
-    List<Booking> findAllByBookerIdFuture(Long bookerId, LocalDateTime now);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.start > ?2")
-    List<Booking> findAllByBookerIdFutureByPages(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2 order by b.start desc")
-    List<Booking> findAllByBookerIdPast(Long bookerId, LocalDateTime now);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.end < ?2")
-    List<Booking> findAllByBookerIdPastByPages(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2 order by b.start desc")
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status);
-
-    @Query("select b from Booking b where b.booker.id = ?1 and b.status = ?2")
-    List<Booking> findAllByBookerIdAndStatusByPages(Long bookerId, BookingStatus status, Pageable pageable);
-
-    @Query(value = "select b from Booking b where b.item in :items order by b.start desc ")
-    List<Booking> findAllByItems(@Param("items") List<Item> items);
-
-    @Query(value = "select b from Booking b where b.item in :items")
-    List<Booking> findAllByItemsByPages(@Param("items") List<Item> items, Pageable pageable);
-
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(value = "select b from Booking b where b.item.id = :itemId and b.booker.id = :userId")
     List<Booking> findAllByItemIdAndBookerId(@Param("itemId") Long itemId, @Param("userId") Long userId);
 
-    @Query(value = "select b from Booking b where b.item in :items and b.status = :status order by b.start desc ")
-    List<Booking> findAllByItemsAndStatus(@Param("items") List<Item> items, @Param("status") BookingStatus status);
-
-    @Query(value = "select b from Booking b where b.item in :items and b.status = :status")
-    List<Booking> findAllByItemsAndStatusByPages(@Param("items") List<Item> items,
-                                                 @Param("status") BookingStatus status,
-                                                 Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(value = "select b from Booking b where b.item.id in :ids and b.end = " +
+            "(select max(b2.end) from Booking b2 where b2.item.id = b.item.id and b2.end < :now)")
+    List<Booking> findLastBookingsByItemIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
-    @Query(value = "select b from Booking b where b.item in :items and :now between b.start and b.end " +
-            "order by b.start desc ")
-    List<Booking> findAllByItemsCurrent(@Param("items") List<Item> items, @Param("now") LocalDateTime now);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(value = "select b from Booking b where b.item.id in :ids and b.start = " +
+            "(select min(b2.start) from Booking b2 where b2.item.id = b.item.id and b2.start > :now)")
+    List<Booking> findNextBookingsByItemIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
-    @Query(value = "select b from Booking b where b.item in :items and :now between b.start and b.end")
-    List<Booking> findAllByItemsCurrentByPages(@Param("items") List<Item> items,
-                                               @Param("now") LocalDateTime now,
-                                               Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findFirstByItemIdAndEndBeforeOrderByEndDesc(Long itemId, LocalDateTime now);
 
-    @Query(value = "select b from Booking b where b.item in :items and b.start > :now order by b.start desc ")
-    List<Booking> findAllByItemsFuture(@Param("items") List<Item> items, @Param("now") LocalDateTime now);
+    @Query("select distinct b.item.id from Booking b where b.booker.id = :bookerId")
+    List<Long> findItemIdsByBookerId(@Param("bookerId") Long bookerId);
 
-    @Query(value = "select b from Booking b where b.item in :items and b.start > :now")
-    List<Booking> findAllByItemsFutureByPages(@Param("items") List<Item> items,
-                                              @Param("now") LocalDateTime now,
-                                              Pageable pageable);
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status,
+                                                            LocalDateTime end, LocalDateTime start);
 
-    @Query(value = "select b from Booking b where b.item in :items and b.end < :now order by b.start desc ")
-    List<Booking> findAllByItemsPast(@Param("items") List<Item> items, @Param("now") LocalDateTime now);
+    boolean existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(Long itemId, Long bookingId,
+                                                                     BookingStatus status,
+                                                                     LocalDateTime end, LocalDateTime start);
 
-    @Query(value = "select b from Booking b where b.item in :items and b.end < :now")
-    List<Booking> findAllByItemsPastByPages(@Param("items") List<Item> items,
-                                            @Param("now") LocalDateTime now,
-                                            Pageable pageable);
+    @Query("select new ru.practicum.shareit.item.availability.BookedPeriod(b.id, b.start, b.end) " +
+            "from Booking b where b.item.id = :itemId and b.status = :status")
+    List<BookedPeriod> findBookedPeriods(@Param("itemId") Long itemId, @Param("status") BookingStatus status);
 
-    @Query(value = "select b from Booking b where b.item.id = :id and b.end < :now order by b.end desc ")
-    List<Booking> findAllByItemIdAndEndBeforeNow(@Param("id") Long id, @Param("now") LocalDateTime now);
+    @Query("select min(b.end) from Booking b where b.item.id = :itemId and b.end > :now")
+    LocalDateTime findNearestEndAfter(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
 
-    @Query(value = "select b from Booking b where b.item.id = :id and b.start > :now order by b.end asc ")
-    List<Booking> findAllByItemIdAndStartAfterNow(@Param("id") Long id, @Param("now") LocalDateTime now);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime now);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<BookingDtoForUpdateAndGet> findBookingDtos(BookingQuery query);
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    private static final String DTO_SELECT = "select new ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet(" +
+            "b.id, b.start, b.end, i.id, i.name, i.description, i.available, i.requestId, " +
+            "u.id, u.name, u.email, b.status) from Booking b join b.item i join b.booker u";
+    private static final Map<String, String> JPQL_CACHE = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<BookingDtoForUpdateAndGet> findBookingDtos(BookingQuery query) {
+        String key = query.getRole() + "." + query.getState() + (query.getCursor() != null ? ".seek" : "");
+        String jpql = JPQL_CACHE.computeIfAbsent(key, k -> buildJpql(query));
+
+        TypedQuery<BookingDtoForUpdateAndGet> typedQuery = em.createQuery(jpql, BookingDtoForUpdateAndGet.class)
+                .setParameter("userId", query.getUserId());
+        switch (query.getState()) {
+            case CURRENT:
+            case FUTURE:
+            case PAST:
+                typedQuery.setParameter("now", query.getNow());
+                break;
+            case WAITING:
+                typedQuery.setParameter("status", BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                typedQuery.setParameter("status", BookingStatus.REJECTED);
+                break;
+            default:
+                break;
+        }
+        if (query.getCursor() != null) {
+            typedQuery.setParameter("cursorStart", query.getCursor().getStart())
+                    .setParameter("cursorId", query.getCursor().getId());
+        }
+        if (query.isPaged()) {
+            if (query.getFrom() != null) {
+                typedQuery.setFirstResult(query.getFrom() / query.getSize() * query.getSize());
+            }
+            typedQuery.setMaxResults(query.getSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private static String buildJpql(BookingQuery query) {
+        StringBuilder jpql = new StringBuilder(DTO_SELECT).append(" where ");
+        if (query.getRole() == BookingQuery.Role.BOOKER) {
+            jpql.append("u.id = :userId");
+        } else {
+            jpql.append("i.ownerId = :userId");
+        }
+        switch (query.getState()) {
+            case CURRENT:
+                jpql.append(" and :now between b.start and b.end");
+                break;
+            case FUTURE:
+                jpql.append(" and b.start > :now");
+                break;
+            case PAST:
+                jpql.append(" and b.end < :now");
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append(" and b.status = :status");
+                break;
+            default:
+                break;
+        }
+        if (query.getCursor() != null) {
+            jpql.append(" and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))");
+        }
+        return jpql.append(" order by b.start desc, b.id desc").toString();
+    }
+}
@@ -2,23 +2,25 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.IncorrectEnumException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
     BookingDto addNewBooking(Long userId, BookingDto bookingDto)
-            throws IncorrectObjectException, IncorrectFieldException;
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException;
 
     BookingDtoForUpdateAndGet changeBookingStatus(Long ownerId, Long bookingId, boolean approved)
-            throws IncorrectObjectException, IncorrectFieldException;
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException;
 
     BookingDtoForUpdateAndGet getBookingById(Long bookingId, Long userId)
             throws IncorrectObjectException, IncorrectFieldException;
 
-    void checkCorrectItemBookerAndBookingEnded(Long userId, Long itemId)
+    void checkCorrectItemBookerAndBookingEnded(Long userId, Long itemId, LocalDateTime now)
             throws IncorrectObjectException, IncorrectFieldException;
 
     List<BookingDtoForUpdateAndGet> getAllBookingsByBookerId(Long bookerId, String state, Integer from, Integer size)
@@ -26,4 +28,12 @@ public interface BookingService {
 
     List<BookingDtoForUpdateAndGet> getAllBookingsByOwnerId(Long ownerId, String state, Integer from, Integer size)
             throws IncorrectObjectException, IncorrectEnumException;
+
+    List<BookingDtoForUpdateAndGet> getAllBookingsByBookerIdAfter(Long bookerId, String state, String cursor,
+                                                                  Integer size)
+            throws IncorrectEnumException, IncorrectObjectException;
+
+    List<BookingDtoForUpdateAndGet> getAllBookingsByOwnerIdAfter(Long ownerId, String state, String cursor,
+                                                                 Integer size)
+            throws IncorrectObjectException, IncorrectEnumException;
 }
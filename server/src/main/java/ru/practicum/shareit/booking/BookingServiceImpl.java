@@ -1,27 +1,28 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
 import ru.practicum.shareit.booking.dto.BookingForUpdateAndGetMapper;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,12 +30,17 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ExistenceChecker existenceChecker;
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemOccupancy itemOccupancy;
+    private final ItemViewCache itemViewCache;
+    private final Clock clock;
 
     @Override
+    @Transactional
     public BookingDto addNewBooking(Long bookerId, BookingDto bookingDto)
-            throws IncorrectObjectException, IncorrectFieldException {
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException {
         Item item1 = itemRepository.getById(bookingDto.getItemId());
         User booker = userRepository.getById(bookerId);
         Booking booking = BookingMapper.mapToBookingEntity(bookingDto, item1, booker);
@@ -44,25 +50,35 @@ public class BookingServiceImpl implements BookingService {
         itemService.checkItemAvailable(booking.getItem().getId());
         booking.setBooker(userRepository.getById(bookerId));
         booking.setStatus(BookingStatus.WAITING);
-        Item item = itemRepository.getById(booking.getItem().getId());
-        return BookingMapper.mapToBookingDto(bookingRepository.save(booking));
+        itemRepository.findByIdForUpdate(booking.getItem().getId());
+        checkNoApprovedOverlap(booking, null);
+        Booking savedBooking = bookingRepository.save(booking);
+        existenceChecker.evict(Booking.class, savedBooking.getId());
+        itemViewCache.evictBookings(savedBooking.getItem().getId());
+        return BookingMapper.mapToBookingDto(savedBooking);
     }
 
     @Override
+    @Transactional
     public BookingDtoForUpdateAndGet changeBookingStatus(Long ownerId, Long bookingId, boolean approved)
-            throws IncorrectObjectException, IncorrectFieldException {
+            throws IncorrectObjectException, IncorrectFieldException, ConflictException {
         userService.checkUserExist(ownerId);
         checkBookingExist(bookingId);
         checkSameStatus(bookingId, approved);
         Booking booking = bookingRepository.findById(bookingId).get();
         Item item = itemRepository.getById(booking.getItem().getId());
         itemService.checkCorrectItemOwner(item.getId(), ownerId);
+        itemRepository.findByIdForUpdate(item.getId());
         if (approved) {
+            checkNoApprovedOverlap(booking, bookingId);
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        return BookingForUpdateAndGetMapper.mapToBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        itemOccupancy.onStatusChanged(savedBooking);
+        itemViewCache.evictBookings(savedBooking.getItem().getId());
+        return BookingForUpdateAndGetMapper.mapToBookingDto(savedBooking);
     }
 
     @Override
@@ -76,137 +92,67 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDtoForUpdateAndGet> getAllBookingsByBookerId(
             Long bookerId, String state, Integer from, Integer size)
             throws IncorrectObjectException {
         userService.checkUserExist(bookerId);
-        State bookingState = State.valueOf(state);
-        List<Booking> bookings = new ArrayList<>();
-
-        if (from == null || size == null) {
-            switch (bookingState) {
-                case ALL:
-                    bookings = bookingRepository.findAllByBookerId(bookerId);
-                    break;
-                case WAITING:
-                    bookings = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.WAITING);
-                    break;
-                case REJECTED:
-                    bookings = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.REJECTED);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByBookerIdCurrent(bookerId, LocalDateTime.now());
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByBookerIdFuture(bookerId, LocalDateTime.now());
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByBookerIdPast(bookerId, LocalDateTime.now());
-                    break;
-            }
-        } else {
-            Pageable sorted = PageRequest.of((from / size), size, Sort.by("start").descending());
-            switch (bookingState) {
-                case ALL:
-                    bookings = bookingRepository.findAllByBookerIdByPages(bookerId, sorted);
-                    break;
-                case WAITING:
-                    bookings = bookingRepository.findAllByBookerIdAndStatusByPages(bookerId,
-                            BookingStatus.WAITING, sorted);
-                    break;
-                case REJECTED:
-                    bookings = bookingRepository.findAllByBookerIdAndStatusByPages(bookerId,
-                            BookingStatus.REJECTED, sorted);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByBookerIdCurrentByPages(bookerId, LocalDateTime.now(), sorted);
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByBookerIdFutureByPages(bookerId, LocalDateTime.now(), sorted);
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByBookerIdPastByPages(bookerId, LocalDateTime.now(), sorted);
-                    break;
-            }
-        }
-        return BookingForUpdateAndGetMapper.mapToBookingDto(bookings);
+        BookingQuery query = BookingQuery.byBooker(bookerId, State.valueOf(state), LocalDateTime.now(clock))
+                .withPage(from, size);
+        return bookingRepository.findBookingDtos(query);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDtoForUpdateAndGet> getAllBookingsByOwnerId(
             Long ownerId, String state, Integer from, Integer size)
             throws IncorrectObjectException {
         userService.checkUserExist(ownerId);
-        State bookingState = State.valueOf(state);
-        List<Booking> bookings = new ArrayList<>();
-        List<Item> itemsByOwnerId = itemRepository.findAllByOwnerId(ownerId);
+        BookingQuery query = BookingQuery.byOwner(ownerId, State.valueOf(state), LocalDateTime.now(clock))
+                .withPage(from, size);
+        return bookingRepository.findBookingDtos(query);
+    }
 
-        if (from == null || size == null) {
-            switch (bookingState) {
-                case ALL:
-                    bookings = bookingRepository.findAllByItems(itemsByOwnerId);
-                    break;
-                case WAITING:
-                    bookings = bookingRepository.findAllByItemsAndStatus(itemsByOwnerId, BookingStatus.WAITING);
-                    break;
-                case REJECTED:
-                    bookings = bookingRepository.findAllByItemsAndStatus(itemsByOwnerId, BookingStatus.REJECTED);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByItemsCurrent(itemsByOwnerId, LocalDateTime.now());
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByItemsFuture(itemsByOwnerId, LocalDateTime.now());
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByItemsPast(itemsByOwnerId, LocalDateTime.now());
-                    break;
-            }
-        } else {
-            Pageable sorted = PageRequest.of((from / size), size, Sort.by("start").descending());
-            switch (bookingState) {
-                case ALL:
-                    bookings = bookingRepository.findAllByItemsByPages(itemsByOwnerId, sorted);
-                    break;
-                case WAITING:
-                    bookings = bookingRepository.findAllByItemsAndStatusByPages(itemsByOwnerId,
-                            BookingStatus.WAITING, sorted);
-                    break;
-                case REJECTED:
-                    bookings = bookingRepository.findAllByItemsAndStatusByPages(itemsByOwnerId,
-                            BookingStatus.REJECTED, sorted);
-                    break;
-                case CURRENT:
-                    bookings = bookingRepository.findAllByItemsCurrentByPages(
-                            itemsByOwnerId, LocalDateTime.now(), sorted);
-                    break;
-                case FUTURE:
-                    bookings = bookingRepository.findAllByItemsFutureByPages(
-                            itemsByOwnerId, LocalDateTime.now(), sorted);
-                    break;
-                case PAST:
-                    bookings = bookingRepository.findAllByItemsPastByPages(
-                            itemsByOwnerId, LocalDateTime.now(), sorted);
-                    break;
-            }
-        }
-        return BookingForUpdateAndGetMapper.mapToBookingDto(bookings);
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoForUpdateAndGet> getAllBookingsByBookerIdAfter(
+            Long bookerId, String state, String cursor, Integer size)
+            throws IncorrectObjectException {
+        userService.checkUserExist(bookerId);
+        BookingQuery query = BookingQuery.byBooker(bookerId, State.valueOf(state), LocalDateTime.now(clock))
+                .withCursor(BookingCursor.decode(cursor), size);
+        return bookingRepository.findBookingDtos(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoForUpdateAndGet> getAllBookingsByOwnerIdAfter(
+            Long ownerId, String state, String cursor, Integer size)
+            throws IncorrectObjectException {
+        userService.checkUserExist(ownerId);
+        BookingQuery query = BookingQuery.byOwner(ownerId, State.valueOf(state), LocalDateTime.now(clock))
+                .withCursor(BookingCursor.decode(cursor), size);
+        return bookingRepository.findBookingDtos(query);
     }
 
     private void checkBookingExist(Long bookingId) throws IncorrectObjectException {
-        if (!bookingRepository.findAll().isEmpty()) {
-            List<Long> ids = bookingRepository.findAll()
-                    .stream()
-                    .map(Booking::getId)
-                    .collect(Collectors.toList());
-            if (!ids.contains(bookingId)) {
-                throw new IncorrectObjectException("There is no booking with such ID");
-            }
-        } else {
+        if (!existenceChecker.exists(Booking.class, bookingId)) {
             throw new IncorrectObjectException("There is no booking with such ID");
         }
     }
 
+    private void checkNoApprovedOverlap(Booking booking, Long excludeId) throws ConflictException {
+        Long itemId = booking.getItem().getId();
+        boolean overlaps = excludeId == null
+                ? bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                        itemId, BookingStatus.APPROVED, booking.getEnd(), booking.getStart())
+                : bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(
+                        itemId, excludeId, BookingStatus.APPROVED, booking.getEnd(), booking.getStart());
+        if (overlaps) {
+            throw new ConflictException("The item is already booked for the specified period");
+        }
+    }
+
     private void checkSameStatus(Long bookingId, boolean approved) throws IncorrectFieldException {
         Booking booking = bookingRepository.findById(bookingId).get();
         if (booking.getStatus().equals(BookingStatus.APPROVED) && approved
@@ -225,9 +171,10 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public void checkCorrectItemBookerAndBookingEnded(Long userId, Long itemId) throws IncorrectFieldException {
+    public void checkCorrectItemBookerAndBookingEnded(Long userId, Long itemId, LocalDateTime now)
+            throws IncorrectFieldException {
         List<Booking> bookings = bookingRepository.findAllByItemIdAndBookerId(itemId, userId);
-        if (bookings.stream().noneMatch(b -> b.getStart().isBefore(LocalDateTime.now()))) {
+        if (bookings.stream().noneMatch(b -> b.getStart().isBefore(now))) {
             throw new IncorrectFieldException("The booking of the item has not yet started");
         }
         if (bookings.stream().noneMatch(b -> b.getBooker().getId().equals(userId))) {
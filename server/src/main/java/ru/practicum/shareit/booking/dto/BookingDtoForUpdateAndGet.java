@@ -19,4 +19,12 @@ public class BookingDtoForUpdateAndGet {
     private ItemDto item;
     private UserDto booker;
     private BookingStatus status;
+
+    public BookingDtoForUpdateAndGet(Long id, LocalDateTime start, LocalDateTime end,
+                                     Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                                     Long itemRequestId, Long bookerId, String bookerName, String bookerEmail,
+                                     BookingStatus status) {
+        this(id, start, end, new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId),
+                new UserDto(bookerId, bookerName, bookerEmail), status);
+    }
 }
@@ -2,12 +2,15 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForGet;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -59,6 +62,17 @@ public class ItemController {
         return itemService.searchItemsByText(text, from, size, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto findAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable("itemId") Long itemId,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime to) throws IncorrectObjectException {
+        log.info("GET /items/{}/availability?from={}&to={}", itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to, userId);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto create(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
                              @PathVariable("itemId") Long itemId,
@@ -2,28 +2,52 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerId(Long ownerId);
 
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "and i.available is true")
+            "where (upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            " or upper(i.description) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "and i.available is true " +
+            "order by case when upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) " +
+            "escape ?#{escapeCharacter()} then 0 else 1 end, i.id")
     List<Item> searchByText(String text);
 
     List<Item> findAllByRequestId(Long requestId);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
     @Query("select i from Item i  where i.ownerId = ?1")
     List<Item> findAllByOwnerIdByPages(Long requesterId, Pageable pageable);
 
     @Query("select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "and i.available is true")
+            "where (upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            " or upper(i.description) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "and i.available is true " +
+            "order by case when upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) " +
+            "escape ?#{escapeCharacter()} then 0 else 1 end, i.id")
     List<Item> searchByTextByPages(String text, Pageable sorted);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select i from Item i")
+    Stream<Item> streamAll();
 }
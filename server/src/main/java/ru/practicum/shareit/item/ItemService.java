@@ -4,8 +4,10 @@ import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDtoForGet;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -22,6 +24,9 @@ public interface ItemService {
     List<ItemDto> searchItemsByText(String text, Integer from, Integer size, Long userId)
             throws IncorrectObjectException;
 
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to, Long userId)
+            throws IncorrectObjectException;
+
     void checkItemExist(Long id) throws IncorrectObjectException, IncorrectFieldException;
 
     void checkItemAvailable(Long id) throws IncorrectFieldException;
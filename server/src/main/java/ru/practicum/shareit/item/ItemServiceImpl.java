@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
@@ -12,28 +14,40 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor(onConstructor = @__(@Lazy))
+@RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ExistenceChecker existenceChecker;
     private final UserService userService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemViewCache itemViewCache;
+    private final ItemOccupancy itemOccupancy;
+    private final Clock clock;
     @Lazy
     private final BookingService bookingService;
 
@@ -42,10 +56,15 @@ public class ItemServiceImpl implements ItemService {
         Item item = ItemMapper.mapToItemEntity(itemDto, userId);
         userService.checkUserExist(userId);
         item.setOwnerId(userId);
-        return ItemMapper.mapToItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        existenceChecker.evict(Item.class, savedItem.getId());
+        itemSearchIndex.index(savedItem);
+        itemSearchCache.invalidate(null, savedItem);
+        return ItemMapper.mapToItemDto(savedItem);
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId)
             throws IncorrectObjectException {
         Item item = ItemMapper.mapToItemEntity(itemDto, userId);
@@ -54,34 +73,49 @@ public class ItemServiceImpl implements ItemService {
         checkItemExist(item.getId());
         checkCorrectItemOwner(item.getId(), userId);
         item.setOwnerId(userId);
+        Item stored = itemRepository.getById(item.getId());
+        Item previous = new Item(stored.getId(), stored.getName(), stored.getDescription(), stored.getAvailable(),
+                stored.getOwnerId(), stored.getRequestId());
         if (item.getName() == null) {
-            item.setName(itemRepository.getById(item.getId()).getName());
+            item.setName(previous.getName());
         }
         if (item.getDescription() == null) {
-            item.setDescription(itemRepository.getById(item.getId()).getDescription());
+            item.setDescription(previous.getDescription());
         }
         if (item.getAvailable() == null) {
-            item.setAvailable(itemRepository.getById(item.getId()).getAvailable());
+            item.setAvailable(previous.getAvailable());
         }
-        return ItemMapper.mapToItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        itemSearchCache.invalidate(previous, savedItem);
+        itemViewCache.evictItem(itemId);
+        itemViewCache.evictBookings(itemId);
+        return ItemMapper.mapToItemDto(savedItem);
     }
 
     @Override
     public ItemDtoForGet getItemById(Long itemId, Long userId)
             throws IncorrectObjectException {
-        checkItemExist(itemId);
+        Item item = itemViewCache.getItem(itemId, () -> itemRepository.findById(itemId).orElse(null));
+        if (item == null) {
+            throw new IncorrectObjectException("There is no item with such ID");
+        }
         userService.checkUserExist(userId);
         BookingDto lastBookingDto;
         BookingDto nextBookingDto;
-        if (Objects.equals(itemRepository.getReferenceById(itemId).getOwnerId(), userId)) {
-            lastBookingDto = findLastBooking(itemId);
-            nextBookingDto = findNextBooking(itemId);
+        if (Objects.equals(item.getOwnerId(), userId)) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            ItemViewCache.BookingSnapshot bookings = itemViewCache.getBookings(itemId, now,
+                    () -> findBookingSnapshot(itemId, now));
+            lastBookingDto = bookings.getLastBooking();
+            nextBookingDto = bookings.getNextBooking();
         } else {
             lastBookingDto = null;
             nextBookingDto = null;
         }
-        List<CommentDto> comments = CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId));
-        return ItemForGetMapper.mapToItemDto(itemRepository.getById(itemId),
+        List<CommentDto> comments = itemViewCache.getComments(itemId,
+                () -> CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId)));
+        return ItemForGetMapper.mapToItemDto(item,
                 lastBookingDto,
                 nextBookingDto,
                 comments);
@@ -91,43 +125,18 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDtoForGet> getAllItemsByUserId(Long userId, Integer from, Integer size)
             throws IncorrectObjectException {
         userService.checkUserExist(userId);
-        List<ItemDtoForGet> itemDtos = new ArrayList<>();
+        List<Item> items;
 
         if (from == null || size == null) {
-            List<Item> items = itemRepository.findAllByOwnerId(userId);
-            if (items.isEmpty()) {
-                return new ArrayList<>();
-            }
-            for (Item item : items) {
-                Long itemId = item.getId();
-                BookingDto lastBookingDto = null;
-                BookingDto nextBookingDto = null;
-                if (Objects.equals(item.getOwnerId(), userId)) {
-                    lastBookingDto = findLastBooking(itemId);
-                    nextBookingDto = findNextBooking(itemId);
-                }
-                List<CommentDto> comments = CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId));
-                itemDtos.add(ItemForGetMapper.mapToItemDto(item, lastBookingDto, nextBookingDto, comments));
-            }
+            items = itemRepository.findAllByOwnerId(userId);
         } else {
             Pageable sorted = PageRequest.of((from / size), size);
-            List<Item> items = itemRepository.findAllByOwnerIdByPages(userId, sorted);
-
-            if (items.isEmpty()) {
-                return new ArrayList<>();
-            }
-            for (Item item : items) {
-                Long itemId = item.getId();
-                BookingDto lastBookingDto = null;
-                BookingDto nextBookingDto = null;
-                if (Objects.equals(item.getOwnerId(), userId)) {
-                    lastBookingDto = findLastBooking(itemId);
-                    nextBookingDto = findNextBooking(itemId);
-                }
-                List<CommentDto> comments = CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId));
-                itemDtos.add(ItemForGetMapper.mapToItemDto(item, lastBookingDto, nextBookingDto, comments));
-            }
+            items = itemRepository.findAllByOwnerIdByPages(userId, sorted);
+        }
+        if (items.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<ItemDtoForGet> itemDtos = mapToItemDtosForOwner(items, userId);
         List<ItemDtoForGet> list1 = itemDtos.stream()
                 .filter(i -> i.getLastBooking() != null)
                 .sorted(Comparator.nullsLast(Comparator.comparing(i -> i.getLastBooking().getStart())))
@@ -142,16 +151,22 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDto> searchItemsByText(String text, Integer from, Integer size, Long userId)
             throws IncorrectObjectException {
         userService.checkUserExist(userId);
-        List<Item> items = new ArrayList<>();
-        if (!"".equals(text)) {
-            if (from == null || size == null) {
-                items = itemRepository.searchByText(text);
-            } else {
-                Pageable sorted = PageRequest.of((from / size), size);
-                items = itemRepository.searchByTextByPages(text, sorted);
-            }
+        if ("".equals(text)) {
+            return new ArrayList<>();
         }
-        return ItemMapper.mapToItemDto(items);
+        return itemSearchCache.get(text, from, size, () -> searchItems(text, from, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to, Long userId)
+            throws IncorrectObjectException {
+        userService.checkUserExist(userId);
+        checkItemExist(itemId);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The end of the period must be after its start");
+        }
+        return new ItemAvailabilityDto(itemId, from, to, itemOccupancy.getSlots(itemId, from, to));
     }
 
     @Override
@@ -159,24 +174,20 @@ public class ItemServiceImpl implements ItemService {
             throws IncorrectObjectException, IncorrectFieldException {
         userService.checkUserExist(userId);
         checkItemExist(itemId);
-        bookingService.checkCorrectItemBookerAndBookingEnded(userId, itemId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        bookingService.checkCorrectItemBookerAndBookingEnded(userId, itemId, now);
         Item item = itemRepository.getById(itemId);
         User author = UserMapper.mapToUserEntity(userService.getUserById(userId));
         Comment comment = CommentMapper.mapToCommentEntity(commentDto, item, author);
-        comment.setCreated(LocalDateTime.now());
-        return CommentMapper.mapToCommentDto(commentRepository.save(comment));
+        comment.setCreated(now);
+        CommentDto savedComment = CommentMapper.mapToCommentDto(commentRepository.save(comment));
+        itemViewCache.evictComments(itemId);
+        return savedComment;
     }
 
     @Override
     public void checkItemExist(Long id) throws IncorrectObjectException {
-        if (!itemRepository.findAll().isEmpty()) {
-            List<Long> ids = itemRepository.findAll().stream()
-                    .map(Item::getId)
-                    .collect(Collectors.toList());
-            if (!ids.contains(id)) {
-                throw new IncorrectObjectException("There is no item with such ID");
-            }
-        } else {
+        if (!existenceChecker.exists(Item.class, id)) {
             throw new IncorrectObjectException("There is no item with such ID");
         }
     }
@@ -203,27 +214,87 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private BookingDto findLastBooking(Long itemId) {
-        Booking lastBooking = bookingRepository.findAllByItemIdAndEndBeforeNow(itemId, LocalDateTime.now())
+    private List<ItemDtoForGet> mapToItemDtosForOwner(List<Item> items, Long userId) {
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownedItemIds = items.stream()
+                .filter(i -> Objects.equals(i.getOwnerId(), userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingDto> lastBookings = new HashMap<>();
+        Map<Long, BookingDto> nextBookings = new HashMap<>();
+        if (!ownedItemIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            lastBookings = mapBookingsByItemId(bookingRepository.findLastBookingsByItemIds(ownedItemIds, now));
+            nextBookings = mapBookingsByItemId(bookingRepository.findNextBookingsByItemIds(ownedItemIds, now));
+        }
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
                 .stream()
-                .findFirst()
-                .orElse(null);
-        BookingDto lastBookingDto = null;
-        if (lastBooking != null) {
-            lastBookingDto = BookingMapper.mapToBookingDto(lastBooking);
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                        Collectors.mapping(CommentMapper::mapToCommentDto, Collectors.toList())));
+
+        List<ItemDtoForGet> itemDtos = new ArrayList<>();
+        for (Item item : items) {
+            Long itemId = item.getId();
+            itemDtos.add(ItemForGetMapper.mapToItemDto(item,
+                    lastBookings.get(itemId),
+                    nextBookings.get(itemId),
+                    comments.getOrDefault(itemId, new ArrayList<>())));
         }
-        return lastBookingDto;
+        return itemDtos;
     }
 
-    private BookingDto findNextBooking(Long itemId) {
-        Booking nextBooking = bookingRepository.findAllByItemIdAndStartAfterNow(itemId, LocalDateTime.now())
-                .stream()
-                .findFirst()
-                .orElse(null);
-        BookingDto nextBookingDto = null;
-        if (nextBooking != null) {
-            nextBookingDto = BookingMapper.mapToBookingDto(nextBooking);
+    private List<ItemDto> searchItems(String text, Integer from, Integer size) {
+        if (itemSearchIndex.isReady()) {
+            return page(itemSearchIndex.search(text), from, size);
         }
-        return nextBookingDto;
+        List<Item> items;
+        if (from == null || size == null) {
+            items = itemRepository.searchByText(text);
+        } else {
+            Pageable sorted = PageRequest.of((from / size), size);
+            items = itemRepository.searchByTextByPages(text, sorted);
+        }
+        return ItemMapper.mapToItemDto(items);
+    }
+
+    private static <T> List<T> page(List<T> list, Integer from, Integer size) {
+        if (from == null || size == null) {
+            return list;
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size cannot be less or equal zero");
+        }
+        int start = Math.min(from / size * size, list.size());
+        return list.subList(start, Math.min(start + size, list.size()));
+    }
+
+    private Map<Long, BookingDto> mapBookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toMap(BookingDto::getItemId, b -> b, (first, second) -> first));
+    }
+
+    private ItemViewCache.BookingSnapshot findBookingSnapshot(Long itemId, LocalDateTime now) {
+        BookingDto nextBooking = findNextBooking(itemId, now);
+        LocalDateTime nearestEnd = bookingRepository.findNearestEndAfter(itemId, now);
+        LocalDateTime validUntil = nearestEnd;
+        if (nextBooking != null && (validUntil == null || nextBooking.getStart().isBefore(validUntil))) {
+            validUntil = nextBooking.getStart();
+        }
+        return new ItemViewCache.BookingSnapshot(findLastBooking(itemId, now), nextBooking, validUntil);
+    }
+
+    private BookingDto findLastBooking(Long itemId, LocalDateTime now) {
+        return bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(itemId, now)
+                .map(BookingMapper::mapToBookingDto)
+                .orElse(null);
+    }
+
+    private BookingDto findNextBooking(Long itemId, LocalDateTime now) {
+        return bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(itemId, now)
+                .map(BookingMapper::mapToBookingDto)
+                .orElse(null);
     }
 }
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class ItemViewCache {
+    public static final String ITEMS_CACHE_NAME = "items";
+    public static final String COMMENTS_CACHE_NAME = "itemComments";
+    public static final String BOOKINGS_CACHE_NAME = "itemBookings";
+
+    private final Layer<Item> items;
+    private final Layer<List<CommentDto>> comments;
+    private final Layer<BookingSnapshot> bookings;
+
+    public ItemViewCache(@Value("${shareit.item.cache.max-size:10000}") long maxSize,
+                         @Value("${shareit.item.cache.ttl:5m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.items = new Layer<>(maxSize, ttl, meterRegistry, ITEMS_CACHE_NAME);
+        this.comments = new Layer<>(maxSize, ttl, meterRegistry, COMMENTS_CACHE_NAME);
+        this.bookings = new Layer<>(maxSize, ttl, meterRegistry, BOOKINGS_CACHE_NAME);
+    }
+
+    public Item getItem(Long itemId, Supplier<Item> loader) {
+        Item item = items.get(itemId, () -> {
+            Item loaded = loader.get();
+            return loaded == null ? null : new Item(loaded.getId(), loaded.getName(), loaded.getDescription(),
+                    loaded.getAvailable(), loaded.getOwnerId(), loaded.getRequestId());
+        });
+        return item == null ? null : new Item(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getOwnerId(), item.getRequestId());
+    }
+
+    public List<CommentDto> getComments(Long itemId, Supplier<List<CommentDto>> loader) {
+        return comments.get(itemId, () -> List.copyOf(loader.get()));
+    }
+
+    public BookingSnapshot getBookings(Long itemId, LocalDateTime now, Supplier<BookingSnapshot> loader) {
+        BookingSnapshot cached = bookings.cache.asMap().get(itemId);
+        if (cached != null && !cached.isValidAt(now)) {
+            bookings.cache.asMap().remove(itemId, cached);
+        }
+        return bookings.get(itemId, loader);
+    }
+
+    public void evictItem(Long itemId) {
+        afterCommit(() -> items.evict(itemId));
+    }
+
+    public void evictComments(Long itemId) {
+        afterCommit(() -> comments.evict(itemId));
+    }
+
+    public void evictBookings(Long itemId) {
+        afterCommit(() -> bookings.evict(itemId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BookingSnapshot {
+        private final BookingDto lastBooking;
+        private final BookingDto nextBooking;
+        private final LocalDateTime validUntil;
+
+        private boolean isValidAt(LocalDateTime now) {
+            return validUntil == null || now.isBefore(validUntil);
+        }
+    }
+
+    private static class Layer<V> {
+        private final Cache<Long, V> cache;
+        private final Map<Long, Object> loading = new ConcurrentHashMap<>();
+
+        Layer(long maxSize, Duration ttl, MeterRegistry meterRegistry, String name) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+
+        V get(Long key, Supplier<V> loader) {
+            V value = cache.getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+            Object load = new Object();
+            loading.put(key, load);
+            try {
+                V loaded = loader.get();
+                if (loaded != null) {
+                    cache.asMap().compute(key, (k, current) -> loading.get(k) == load ? loaded : current);
+                }
+                return loaded;
+            } finally {
+                loading.remove(key, load);
+            }
+        }
+
+        void evict(Long key) {
+            loading.remove(key);
+            cache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookedPeriod {
+    private final Long bookingId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemOccupancy {
+    private static final Comparator<BookedPeriod> BY_START = Comparator.comparing(BookedPeriod::getStart)
+            .thenComparing(BookedPeriod::getBookingId);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, List<BookedPeriod>> periods;
+
+    public ItemOccupancy(BookingRepository bookingRepository,
+                         @Value("${shareit.availability.max-items:10000}") long maxItems,
+                         @Value("${shareit.availability.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.periods = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public List<AvailabilitySlotDto> getSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BookedPeriod> booked = periods.get(itemId, this::load);
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        LocalDateTime free = from;
+        for (int i = firstOverlapping(booked, from); i < booked.size(); i++) {
+            BookedPeriod period = booked.get(i);
+            if (!period.getStart().isBefore(to)) {
+                break;
+            }
+            if (!period.getEnd().isAfter(free)) {
+                continue;
+            }
+            LocalDateTime busyStart = max(period.getStart(), free);
+            LocalDateTime busyEnd = min(period.getEnd(), to);
+            if (free.isBefore(busyStart)) {
+                slots.add(new AvailabilitySlotDto(free, busyStart, true));
+            }
+            AvailabilitySlotDto last = slots.isEmpty() ? null : slots.get(slots.size() - 1);
+            if (last != null && !last.getAvailable() && last.getEnd().equals(busyStart)) {
+                last.setEnd(busyEnd);
+            } else {
+                slots.add(new AvailabilitySlotDto(busyStart, busyEnd, false));
+            }
+            free = busyEnd;
+        }
+        if (free.isBefore(to)) {
+            slots.add(new AvailabilitySlotDto(free, to, true));
+        }
+        return slots;
+    }
+
+    public void onStatusChanged(Booking booking) {
+        afterCommit(() -> periods.asMap().computeIfPresent(booking.getItem().getId(),
+                (itemId, booked) -> booking.getStatus() == BookingStatus.APPROVED
+                        ? with(booked, new BookedPeriod(booking.getId(), booking.getStart(), booking.getEnd()))
+                        : without(booked, booking.getId())));
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        afterCommit(() -> periods.invalidateAll(itemIds));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<BookedPeriod> load(Long itemId) {
+        List<BookedPeriod> booked = new ArrayList<>(
+                bookingRepository.findBookedPeriods(itemId, BookingStatus.APPROVED));
+        booked.sort(BY_START);
+        return Collections.unmodifiableList(booked);
+    }
+
+    private static List<BookedPeriod> with(List<BookedPeriod> booked, BookedPeriod period) {
+        List<BookedPeriod> updated = new ArrayList<>(without(booked, period.getBookingId()));
+        int index = Collections.binarySearch(updated, period, BY_START);
+        updated.add(index < 0 ? -index - 1 : index, period);
+        return Collections.unmodifiableList(updated);
+    }
+
+    private static List<BookedPeriod> without(List<BookedPeriod> booked, Long bookingId) {
+        return booked.stream()
+                .filter(p -> !Objects.equals(p.getBookingId(), bookingId))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static int firstOverlapping(List<BookedPeriod> booked, LocalDateTime from) {
+        int low = 0;
+        int high = booked.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (booked.get(middle).getStart().isBefore(from)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        while (low > 0 && booked.get(low - 1).getEnd().isAfter(from)) {
+            low--;
+        }
+        return low;
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
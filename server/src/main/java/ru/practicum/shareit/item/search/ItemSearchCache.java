@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.function.Supplier;
+
+@Component
+public class ItemSearchCache {
+    public static final String CACHE_NAME = "itemSearch";
+
+    private final Cache<Key, List<ItemDto>> cache;
+    private final Map<String, TextEntries> entriesByText = new ConcurrentHashMap<>();
+
+    public ItemSearchCache(@Value("${shareit.search.cache.max-size:10000}") long maxSize,
+                           @Value("${shareit.search.cache.ttl:30s}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((Key key, List<ItemDto> items, RemovalCause cause) -> forget(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<ItemDto> get(String text, Integer from, Integer size, Supplier<List<ItemDto>> search) {
+        return cache.get(new Key(normalise(text), from, size), key -> {
+            List<ItemDto> items = List.copyOf(search.get());
+            entriesByText.compute(key.getText(), (t, entries) -> {
+                TextEntries result = entries == null ? new TextEntries() : entries;
+                result.keys.add(key);
+                items.forEach(item -> result.itemIds.add(item.getId()));
+                return result;
+            });
+            return items;
+        });
+    }
+
+    public void invalidate(Item previous, Item current) {
+        invalidate(Arrays.asList(previous, current));
+    }
+
+    public void invalidate(List<Item> versions) {
+        List<Item> items = versions.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return;
+        }
+        Runnable eviction = () -> entriesByText.forEach((text, entries) -> {
+            if (items.stream().anyMatch(item -> entries.itemIds.contains(item.getId()) || matches(item, text))
+                    && entriesByText.remove(text, entries)) {
+                cache.invalidateAll(entries.keys);
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void forget(Key key) {
+        entriesByText.computeIfPresent(key.getText(), (text, entries) -> {
+            entries.keys.remove(key);
+            return entries.keys.isEmpty() ? null : entries;
+        });
+    }
+
+    private static boolean matches(Item item, String text) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (normalise(item.getName()).contains(text) || normalise(item.getDescription()).contains(text));
+    }
+
+    private static String normalise(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static class TextEntries {
+        private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+        private final Set<Long> itemIds = ConcurrentHashMap.newKeySet();
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String text;
+        private final Integer from;
+        private final Integer size;
+    }
+}
@@ -0,0 +1,382 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final char START_MARKER = '\u0002';
+    private static final char END_MARKER = '\u0003';
+    private static final long ITEM_OVERHEAD_BYTES = 96;
+    private static final long TRIGRAM_OVERHEAD_BYTES = 96;
+    private static final long POSTING_BYTES = 4;
+
+    private final ItemRepository itemRepository;
+    private final EntityManager em;
+    private final boolean enabled;
+    private final long memoryBudgetBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Roaring64Bitmap> trigrams = new HashMap<>();
+    private Roaring64Bitmap available = new Roaring64Bitmap();
+    private Map<Long, IndexedItem> items = new HashMap<>();
+    private long estimatedBytes;
+    private List<Runnable> pendingUpdates;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           EntityManager em,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled,
+                           @Value("${shareit.search.index.memory-budget-mb:64}") long memoryBudgetMb) {
+        this.itemRepository = itemRepository;
+        this.em = em;
+        this.enabled = enabled;
+        this.memoryBudgetBytes = memoryBudgetMb * 1024 * 1024;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public synchronized boolean rebuild() {
+        if (!enabled) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Roaring64Bitmap> newTrigrams = new HashMap<>();
+        Roaring64Bitmap newAvailable = new Roaring64Bitmap();
+        Map<Long, IndexedItem> newItems = new HashMap<>();
+        long[] newBytes = {0};
+        boolean withinBudget;
+        try (Stream<Item> stream = itemRepository.streamAll()) {
+            withinBudget = stream.allMatch(item -> {
+                newBytes[0] += add(newTrigrams, newAvailable, newItems, item);
+                em.detach(item);
+                return newBytes[0] <= memoryBudgetBytes;
+            });
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!withinBudget) {
+                clear();
+                pendingUpdates = null;
+                log.warn("Item search index exceeds its memory budget of {} bytes and is disabled", memoryBudgetBytes);
+                return false;
+            }
+            newTrigrams.values().forEach(Roaring64Bitmap::runOptimize);
+            trigrams = newTrigrams;
+            available = newAvailable;
+            items = newItems;
+            estimatedBytes = newBytes[0];
+            ready = true;
+            List<Runnable> updates = pendingUpdates;
+            pendingUpdates = null;
+            for (Runnable update : updates) {
+                if (!ready) {
+                    return false;
+                }
+                update.run();
+            }
+            log.info("Item search index rebuilt: {} items, {} trigrams, ~{} bytes",
+                    items.size(), trigrams.size(), estimatedBytes);
+            return ready;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        update(() -> indexLocked(item));
+    }
+
+    public void remove(Long itemId) {
+        update(() -> removeLocked(itemId));
+    }
+
+    public void removeByOwner(Long ownerId) {
+        update(() -> items.values().stream()
+                .filter(item -> Objects.equals(item.ownerId, ownerId))
+                .map(item -> item.id)
+                .collect(Collectors.toList())
+                .forEach(this::removeLocked));
+    }
+
+    public List<ItemDto> search(String text) {
+        String query = text.toUpperCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(candidates(query))
+                    .mapToObj(items::get)
+                    .filter(item -> item.upperName.contains(query) || item.upperDescription.contains(query))
+                    .sorted(Comparator.comparing((IndexedItem item) -> !item.upperName.contains(query))
+                            .thenComparing(item -> item.id))
+                    .map(IndexedItem::toItemDto)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> check() {
+        long missing = 0;
+        long stale = 0;
+        long dbItems = 0;
+        try (Stream<Item> stream = itemRepository.streamAll()) {
+            for (Item item : (Iterable<Item>) stream::iterator) {
+                dbItems++;
+                lock.readLock().lock();
+                try {
+                    IndexedItem indexed = items.get(item.getId());
+                    if (indexed == null) {
+                        missing++;
+                    } else if (!indexed.matches(item)) {
+                        stale++;
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                em.detach(item);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>(stats());
+        result.put("dbItems", dbItems);
+        result.put("missing", missing);
+        result.put("stale", stale);
+        result.put("extra", Math.max(0, (long) result.get("items") - (dbItems - missing)));
+        result.put("consistent", ready && missing == 0 && stale == 0 && (long) result.get("extra") == 0);
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("enabled", enabled);
+            result.put("ready", ready);
+            result.put("items", (long) items.size());
+            result.put("trigrams", (long) trigrams.size());
+            result.put("estimatedBytes", estimatedBytes);
+            result.put("memoryBudgetBytes", memoryBudgetBytes);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String query) {
+        Roaring64Bitmap result;
+        if (query.length() < TRIGRAM_LENGTH) {
+            result = new Roaring64Bitmap();
+            for (Map.Entry<String, Roaring64Bitmap> entry : trigrams.entrySet()) {
+                if (entry.getKey().contains(query)) {
+                    result.or(entry.getValue());
+                }
+            }
+        } else {
+            result = null;
+            for (String trigram : trigrams(query, false)) {
+                Roaring64Bitmap matches = trigrams.get(trigram);
+                if (matches == null) {
+                    return new long[0];
+                }
+                if (result == null) {
+                    result = matches.clone();
+                } else {
+                    result.and(matches);
+                }
+            }
+        }
+        result.and(available);
+        return result.toArray();
+    }
+
+    private void update(Runnable update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            if (ready) {
+                update.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexLocked(Item item) {
+        estimatedBytes += add(trigrams, available, items, item);
+        if (estimatedBytes > memoryBudgetBytes) {
+            clear();
+            log.warn("Item search index exceeds its memory budget of {} bytes and is disabled", memoryBudgetBytes);
+        }
+    }
+
+    private void removeLocked(Long itemId) {
+        estimatedBytes += remove(trigrams, available, items, itemId);
+    }
+
+    private void clear() {
+        trigrams = new HashMap<>();
+        available = new Roaring64Bitmap();
+        items = new HashMap<>();
+        estimatedBytes = 0;
+        ready = false;
+    }
+
+    private static long add(Map<String, Roaring64Bitmap> trigrams, Roaring64Bitmap available,
+                            Map<Long, IndexedItem> items, Item item) {
+        long bytes = remove(trigrams, available, items, item.getId());
+        IndexedItem indexed = new IndexedItem(item);
+        items.put(indexed.id, indexed);
+        if (indexed.available) {
+            available.addLong(indexed.id);
+        }
+        bytes += indexed.estimatedBytes();
+        for (String trigram : indexed.trigrams()) {
+            Roaring64Bitmap ids = trigrams.get(trigram);
+            if (ids == null) {
+                ids = new Roaring64Bitmap();
+                trigrams.put(trigram, ids);
+                bytes += TRIGRAM_OVERHEAD_BYTES;
+            }
+            ids.addLong(indexed.id);
+            bytes += POSTING_BYTES;
+        }
+        return bytes;
+    }
+
+    private static long remove(Map<String, Roaring64Bitmap> trigrams, Roaring64Bitmap available,
+                               Map<Long, IndexedItem> items, Long itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous == null) {
+            return 0;
+        }
+        long bytes = -previous.estimatedBytes();
+        for (String trigram : previous.trigrams()) {
+            Roaring64Bitmap ids = trigrams.get(trigram);
+            ids.removeLong(previous.id);
+            bytes -= POSTING_BYTES;
+            if (ids.isEmpty()) {
+                trigrams.remove(trigram);
+                bytes -= TRIGRAM_OVERHEAD_BYTES;
+            }
+        }
+        available.removeLong(previous.id);
+        return bytes;
+    }
+
+    private static Set<String> trigrams(String upperText, boolean padded) {
+        String text = padded ? START_MARKER + upperText + END_MARKER : upperText;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private static class IndexedItem {
+        private final long id;
+        private final Long ownerId;
+        private final String name;
+        private final String description;
+        private final String upperName;
+        private final String upperDescription;
+        private final boolean available;
+        private final Long requestId;
+
+        IndexedItem(Item item) {
+            this.id = item.getId();
+            this.ownerId = item.getOwnerId();
+            this.name = Objects.toString(item.getName(), "");
+            this.description = Objects.toString(item.getDescription(), "");
+            this.upperName = name.toUpperCase(Locale.ROOT);
+            this.upperDescription = description.toUpperCase(Locale.ROOT);
+            this.available = Boolean.TRUE.equals(item.getAvailable());
+            this.requestId = item.getRequestId();
+        }
+
+        Set<String> trigrams() {
+            Set<String> trigrams = ItemSearchIndex.trigrams(upperName, true);
+            trigrams.addAll(ItemSearchIndex.trigrams(upperDescription, true));
+            return trigrams;
+        }
+
+        long estimatedBytes() {
+            return ITEM_OVERHEAD_BYTES + 4L * (name.length() + description.length());
+        }
+
+        boolean matches(Item item) {
+            return name.equals(Objects.toString(item.getName(), ""))
+                    && description.equals(Objects.toString(item.getDescription(), ""))
+                    && available == Boolean.TRUE.equals(item.getAvailable())
+                    && Objects.equals(requestId, item.getRequestId());
+        }
+
+        ItemDto toItemDto() {
+            return new ItemDto(id, name, description, available, requestId);
+        }
+    }
+}
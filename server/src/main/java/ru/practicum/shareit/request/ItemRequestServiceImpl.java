@@ -4,10 +4,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForGetDto;
 import ru.practicum.shareit.request.dto.ItemRequestForGetMapper;
@@ -16,10 +18,12 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,11 +35,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRepository itemRepository;
 
-    public ItemRequestServiceImpl(
-            ItemRequestRepository itemRequestRepository, UserService userService, ItemRepository itemRepository) {
+    private final ExistenceChecker existenceChecker;
+
+    private final Clock clock;
+
+    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserService userService,
+                                  ItemRepository itemRepository, ExistenceChecker existenceChecker, Clock clock) {
         this.itemRequestRepository = itemRequestRepository;
         this.userService = userService;
         this.itemRepository = itemRepository;
+        this.existenceChecker = existenceChecker;
+        this.clock = clock;
     }
 
     @Override
@@ -44,8 +54,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User requester = UserMapper.mapToUserEntity(userService.getUserById(requesterId));
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequestEntity(itemRequestDto, requester);
         itemRequest.setRequester(requester);
-        itemRequest.setCreated(LocalDateTime.now());
-        return ItemRequestMapper.mapToItemRequestDto(itemRequestRepository.save(itemRequest));
+        itemRequest.setCreated(LocalDateTime.now(clock));
+        ItemRequest savedItemRequest = itemRequestRepository.save(itemRequest);
+        existenceChecker.evict(ItemRequest.class, savedItemRequest.getId());
+        return ItemRequestMapper.mapToItemRequestDto(savedItemRequest);
     }
 
     @Override
@@ -53,16 +65,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throws IncorrectObjectException {
         userService.checkUserExist(requesterId);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequesterId(requesterId);
-        List<ItemRequestForGetDto> requestDtos = new ArrayList<>();
-        if (requests.isEmpty()) {
-            return requestDtos;
-        }
-        for (ItemRequest itemRequest : requests) {
-            Long requestId = itemRequest.getId();
-            List<ItemDto> items = ItemMapper.mapToItemDto(itemRepository.findAllByRequestId(requestId));
-            requestDtos.add(ItemRequestForGetMapper.mapToItemRequestForGetDto(itemRequest, items));
-        }
-        return requestDtos.stream()
+        return mapToItemRequestForGetDtos(requests).stream()
                 .sorted(Comparator.comparing(ItemRequestForGetDto::getCreated).reversed())
                 .collect(Collectors.toList());
     }
@@ -71,31 +74,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestForGetDto> getAllItemRequests(Long requesterId, Integer from, Integer size)
             throws IncorrectObjectException {
         userService.checkUserExist(requesterId);
-        List<ItemRequestForGetDto> requestDtos = new ArrayList<>();
+        List<ItemRequest> requests;
 
         if (from == null || size == null) {
-            List<ItemRequest> requests = itemRequestRepository.findAll(requesterId);
-            if (requests.isEmpty()) {
-                return requestDtos;
-            }
-            for (ItemRequest itemRequest : requests) {
-                Long requestId = itemRequest.getId();
-                List<ItemDto> items = ItemMapper.mapToItemDto(itemRepository.findAllByRequestId(requestId));
-                requestDtos.add(ItemRequestForGetMapper.mapToItemRequestForGetDto(itemRequest, items));
-            }
+            requests = itemRequestRepository.findAll(requesterId);
         } else {
             Pageable sortedDesc = PageRequest.of((from / size), size, Sort.by("created").descending());
-            List<ItemRequest> requests = itemRequestRepository.findAllByPages(requesterId, sortedDesc);
-            if (requests.isEmpty()) {
-                return requestDtos;
-            }
-            for (ItemRequest itemRequest : requests) {
-                Long requestId = itemRequest.getId();
-                List<ItemDto> items = ItemMapper.mapToItemDto(itemRepository.findAllByRequestId(requestId));
-                requestDtos.add(ItemRequestForGetMapper.mapToItemRequestForGetDto(itemRequest, items));
-            }
+            requests = itemRequestRepository.findAllByPages(requesterId, sortedDesc);
         }
-        return requestDtos;
+        return mapToItemRequestForGetDtos(requests);
     }
 
     @Override
@@ -106,15 +93,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestForGetMapper.mapToItemRequestForGetDto(itemRequestRepository.getById(requestId), items);
     }
 
+    private List<ItemRequestForGetDto> mapToItemRequestForGetDtos(List<ItemRequest> requests) {
+        List<ItemRequestForGetDto> requestDtos = new ArrayList<>();
+        if (requests.isEmpty()) {
+            return requestDtos;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(ItemMapper::mapToItemDto, Collectors.toList())));
+        for (ItemRequest itemRequest : requests) {
+            List<ItemDto> items = itemsByRequestId.getOrDefault(itemRequest.getId(), new ArrayList<>());
+            requestDtos.add(ItemRequestForGetMapper.mapToItemRequestForGetDto(itemRequest, items));
+        }
+        return requestDtos;
+    }
+
     private void checkItemRequestExists(Long itemRequestId) throws IncorrectObjectException {
-        if (!itemRequestRepository.findAll().isEmpty()) {
-            List<Long> ids = itemRequestRepository.findAll().stream()
-                    .map(ItemRequest::getId)
-                    .collect(Collectors.toList());
-            if (!ids.contains(itemRequestId)) {
-                throw new IncorrectObjectException("There is no item request with such ID");
-            }
-        } else {
+        if (!existenceChecker.exists(ItemRequest.class, itemRequestId)) {
             throw new IncorrectObjectException("There is no item request with such ID");
         }
     }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class UserCache {
+    public static final String CACHE_NAME = "users";
+
+    private final Cache<Long, UserDto> cache;
+
+    public UserCache(@Value("${shareit.user.cache.max-size:10000}") long maxSize,
+                     @Value("${shareit.user.cache.ttl:10m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserDto get(Long userId, Supplier<UserDto> loader) {
+        UserDto user = cache.get(userId, id -> loader.get());
+        return user == null ? null : copy(user);
+    }
+
+    public void put(UserDto user) {
+        cache.put(user.getId(), copy(user));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private static UserDto copy(UserDto user) {
+        return new UserDto(user.getId(), user.getName(), user.getEmail());
+    }
+}
@@ -2,20 +2,45 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
+import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.IncorrectObjectException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ExistenceChecker existenceChecker;
+    private final UserCache userCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemOccupancy itemOccupancy;
+    private final ItemViewCache itemViewCache;
 
     @Override
     public UserDto createUser(UserDto userDto) {
         User user = UserMapper.mapToUserEntity(userDto);
-        return UserMapper.mapToUserDto(userRepository.save(user));
+        UserDto savedUser = UserMapper.mapToUserDto(userRepository.save(user));
+        existenceChecker.evict(User.class, savedUser.getId());
+        userCache.put(savedUser);
+        return savedUser;
     }
 
     @Override
@@ -23,26 +48,54 @@ public class UserServiceImpl implements UserService {
             throws IncorrectObjectException {
         User user = UserMapper.mapToUserEntity(userDto);
         user.setId(userId);
-        checkUserExist(userId);
+        UserDto currentUser = getUserById(userId);
         if (user.getEmail() == null) {
-            user.setEmail(userRepository.getById(user.getId()).getEmail());
+            user.setEmail(currentUser.getEmail());
         }
         if (user.getName() == null) {
-            user.setName(userRepository.getById(user.getId()).getName());
+            user.setName(currentUser.getName());
+        }
+        UserDto savedUser = UserMapper.mapToUserDto(userRepository.save(user));
+        userCache.put(savedUser);
+        if (!Objects.equals(currentUser.getName(), savedUser.getName())) {
+            commentRepository.findItemIdsByAuthorId(userId).forEach(itemViewCache::evictComments);
         }
-        return UserMapper.mapToUserDto(userRepository.save(user));
+        return savedUser;
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) throws IncorrectObjectException {
         checkUserExist(userId);
+        List<Item> items = itemRepository.findAllByOwnerId(userId);
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(userId);
+        List<Long> commentedItemIds = commentRepository.findItemIdsByAuthorId(userId);
         userRepository.deleteById(userId);
+        existenceChecker.evictAll();
+        userCache.evict(userId);
+        itemSearchIndex.removeByOwner(userId);
+        itemSearchCache.invalidate(items);
+
+        List<Long> ownedItemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Set<Long> bookingsChanged = Stream.concat(ownedItemIds.stream(), bookedItemIds.stream())
+                .collect(Collectors.toSet());
+        itemOccupancy.evict(bookingsChanged);
+        ownedItemIds.forEach(itemViewCache::evictItem);
+        bookingsChanged.forEach(itemViewCache::evictBookings);
+        Stream.concat(ownedItemIds.stream(), commentedItemIds.stream())
+                .distinct()
+                .forEach(itemViewCache::evictComments);
     }
 
     @Override
     public UserDto getUserById(Long userId) throws IncorrectObjectException {
-        checkUserExist(userId);
-        return UserMapper.mapToUserDto(userRepository.getById(userId));
+        UserDto user = userId == null ? null : userCache.get(userId, () -> userRepository.findById(userId)
+                .map(UserMapper::mapToUserDto)
+                .orElse(null));
+        if (user == null) {
+            throw new IncorrectObjectException("There is no user with such ID");
+        }
+        return user;
     }
 
     @Override
@@ -53,15 +106,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void checkUserExist(Long userId) throws IncorrectObjectException {
-        if (!userRepository.findAll().isEmpty()) {
-            List<Long> ids = userRepository.findAll()
-                    .stream()
-                    .map(User::getId)
-                    .collect(Collectors.toList());
-            if (!ids.contains(userId)) {
-                throw new IncorrectObjectException("There is no user with such ID");
-            }
-        } else {
+        if (!existenceChecker.exists(User.class, userId)) {
             throw new IncorrectObjectException("There is no user with such ID");
         }
     }
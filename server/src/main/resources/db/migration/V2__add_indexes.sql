@@ -0,0 +1,15 @@
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_booking_booker_starts ON booking (booker_id, starts);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_status ON booking (item_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_ends ON booking (item_id, ends);
+
+CREATE INDEX IF NOT EXISTS idx_booking_item_starts ON booking (item_id, starts);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ExistenceCheckerTest {
+    private final ExistenceChecker existenceChecker;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userService.createUser(new UserDto(null, "user", "user@user.com"));
+        itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        itemService.addNewItem(1L, new ItemDto(null, "Отвертка", "Аккумуляторная отвертка", true, null));
+    }
+
+    @Test
+    void shouldProbeInBatchesAndServeRepeatedChecksFromCache() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        assertThat(existenceChecker.existing(Item.class, List.of(1L, 2L, 3L)), equalTo(Set.of(1L, 2L)));
+
+        assertThat(existenceChecker.exists(Item.class, 1L), is(true));
+        assertThat(existenceChecker.exists(Item.class, 3L), is(false));
+        assertThat(existenceChecker.exists(Item.class, null), is(false));
+        assertThat(cacheGets("hit") - hits, equalTo(2.0));
+        assertThat(cacheGets("miss") - misses, equalTo(3.0));
+    }
+
+    @Test
+    void shouldForgetNegativeResultWhenEntityIsCreated() throws Exception {
+        assertThat(existenceChecker.exists(User.class, 2L), is(false));
+
+        userService.createUser(new UserDto(null, "other", "other@user.com"));
+
+        assertThat(existenceChecker.exists(User.class, 2L), is(true));
+    }
+
+    @Test
+    void shouldForgetEntriesLoadedInsideRolledBackTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                userService.createUser(new UserDto(null, "other", "other@user.com"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            assertThat(existenceChecker.exists(User.class, 2L), is(true));
+            status.setRollbackOnly();
+        });
+
+        assertThat(existenceChecker.exists(User.class, 2L), is(false));
+    }
+
+    @Test
+    void shouldForgetCascadedEntitiesWhenUserIsDeleted() throws Exception {
+        assertThat(existenceChecker.exists(User.class, 1L), is(true));
+        assertThat(existenceChecker.exists(Item.class, 1L), is(true));
+
+        userService.deleteUser(1L);
+
+        assertThat(existenceChecker.exists(User.class, 1L), is(false));
+        assertThat(existenceChecker.exists(Item.class, 1L), is(false));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ExistenceChecker.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+@DataJpaTest
+public class SchemaIndexTest {
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void shouldUseIndexForBookingsByItemAndStatus() {
+        assertUsesIndex("SELECT * FROM booking WHERE item_id IN (1, 2) AND status = 1", "IDX_BOOKING_ITEM_STATUS");
+    }
+
+    @Test
+    void shouldUseIndexForLastBooking() {
+        assertUsesIndex("SELECT * FROM booking WHERE item_id = 1 AND ends < CURRENT_TIMESTAMP " +
+                "ORDER BY ends DESC LIMIT 1", "IDX_BOOKING_ITEM_ENDS");
+    }
+
+    @Test
+    void shouldUseIndexForNextBooking() {
+        assertUsesIndex("SELECT * FROM booking WHERE item_id = 1 AND starts > CURRENT_TIMESTAMP " +
+                "ORDER BY starts LIMIT 1", "IDX_BOOKING_ITEM_STARTS");
+    }
+
+    @Test
+    void shouldUseIndexForItemsByRequests() {
+        assertUsesIndex("SELECT * FROM items WHERE request_id IN (1, 2)", "IDX_ITEMS_REQUEST");
+    }
+
+    @Test
+    void shouldCreateIndexesForForeignKeyLookups() {
+        List<?> indexes = em.createNativeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC'").getResultList();
+
+        for (String index : List.of("IDX_ITEMS_OWNER", "IDX_COMMENTS_ITEM", "IDX_BOOKING_BOOKER_STARTS",
+                "IDX_REQUESTS_REQUESTER_CREATED")) {
+            Assertions.assertTrue(indexes.contains(index), index + " in " + indexes);
+        }
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = String.valueOf(em.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+
+        Assertions.assertTrue(plan.contains("PUBLIC." + index), plan);
+    }
+}
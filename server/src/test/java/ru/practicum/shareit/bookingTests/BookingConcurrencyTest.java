@@ -0,0 +1,163 @@
+package ru.practicum.shareit.bookingTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.IncorrectFieldException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:shareit;LOCK_TIMEOUT=30000")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int BOOKINGS_PER_THREAD = 5;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void shouldApproveOnlyOneOfOverlappingBookingsUnderConcurrency() throws Exception {
+        userService.createUser(new UserDto(null, "owner", "owner@user.com"));
+        userService.createUser(new UserDto(null, "booker", "booker@user.com"));
+        Long itemId = itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS * BOOKINGS_PER_THREAD; i++) {
+            bookingIds.add(bookingService.addNewBooking(2L, new BookingDto(null, start.plusHours(i),
+                    start.plusHours(i).plusDays(1), itemId, null, null, null)).getId());
+        }
+
+        int approved = runConcurrently(thread -> {
+            int threadApproved = 0;
+            for (int i = thread; i < bookingIds.size(); i += THREADS) {
+                try {
+                    bookingService.changeBookingStatus(1L, bookingIds.get(i), true);
+                    threadApproved++;
+                } catch (ConflictException e) {
+                    // another approved booking already covers the period
+                }
+            }
+            return threadApproved;
+        });
+
+        List<Booking> approvedBookings = bookingRepository.findAll().stream()
+                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
+                .collect(Collectors.toList());
+        assertThat(approvedBookings, hasSize(approved));
+        for (Booking booking : approvedBookings) {
+            assertThat(approvedBookings.stream()
+                    .filter(b -> b.getStart().isBefore(booking.getEnd()) && b.getEnd().isAfter(booking.getStart()))
+                    .count(), equalTo(1L));
+        }
+    }
+
+    @Test
+    void shouldRejectNewBookingsOverlappingApprovedUnderConcurrency() throws Exception {
+        userService.createUser(new UserDto(null, "owner", "owner@user.com"));
+        userService.createUser(new UserDto(null, "booker", "booker@user.com"));
+        Long itemId = itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Long approvedId = bookingService.addNewBooking(2L, new BookingDto(null, start, start.plusDays(2),
+                itemId, null, null, null)).getId();
+        bookingService.changeBookingStatus(1L, approvedId, true);
+
+        int created = runConcurrently(thread -> {
+            int threadCreated = 0;
+            for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                try {
+                    bookingService.addNewBooking(2L, new BookingDto(null, start.plusHours(thread + i),
+                            start.plusDays(3), itemId, null, null, null));
+                    threadCreated++;
+                } catch (ConflictException e) {
+                    // the approved booking covers the period
+                }
+            }
+            return threadCreated;
+        });
+
+        assertThat(created, equalTo(0));
+        assertThat(bookingRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    void shouldCountEveryStatusChangeInVersionUnderConcurrency() throws Exception {
+        userService.createUser(new UserDto(null, "owner", "owner@user.com"));
+        userService.createUser(new UserDto(null, "booker", "booker@user.com"));
+        Long itemId = itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Long bookingId = bookingService.addNewBooking(2L, new BookingDto(null, start, start.plusDays(1),
+                itemId, null, null, null)).getId();
+
+        int changed = runConcurrently(thread -> {
+            int threadChanged = 0;
+            for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                try {
+                    bookingService.changeBookingStatus(1L, bookingId, (thread + i) % 2 == 0);
+                    threadChanged++;
+                } catch (IncorrectFieldException | OptimisticLockingFailureException e) {
+                    // the status is already set or was changed concurrently
+                }
+            }
+            return threadChanged;
+        });
+
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(changed > 0, equalTo(true));
+        assertThat(booking.getVersion(), equalTo((long) changed));
+    }
+
+    private int runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> calls = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int number = thread;
+                calls.add(() -> task.run(number));
+            }
+            int total = 0;
+            for (Future<Integer> result : executor.invokeAll(calls, 1, TimeUnit.MINUTES)) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        int run(int thread) throws Exception;
+    }
+}
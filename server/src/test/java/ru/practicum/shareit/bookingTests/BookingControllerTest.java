@@ -11,15 +11,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -35,6 +39,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -132,6 +137,32 @@ public class BookingControllerTest {
                 .changeBookingStatus(1L, 1L, true);
     }
 
+    @Test
+    void shouldRespondConflictWhenBookingOverlaps() throws Exception {
+        when(bookingService.changeBookingStatus(1L, 1L, true))
+                .thenThrow(new ConflictException("The item is already booked for the specified period"));
+
+        mvc.perform(patch("/bookings/1?approved=true")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRespondConflictWhenBookingChangedConcurrently() throws Exception {
+        when(bookingService.changeBookingStatus(1L, 1L, false))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mvc.perform(patch("/bookings/1?approved=false")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void shouldFindById() throws Exception {
         when(bookingService.getBookingById(1L, 1L))
@@ -305,4 +336,43 @@ public class BookingControllerTest {
         Mockito.verify(bookingService, Mockito.times(1))
                 .getAllBookingsByOwnerId(1L, State.ALL.toString(), 1, 1);
     }
+
+    @Test
+    void shouldFindAllByBookerAfterCursor() throws Exception {
+        String cursor = new BookingCursor(LocalDateTime.of(2022, Month.OCTOBER, 10, 12, 30, 30), 2L).encode();
+        String nextCursor = new BookingCursor(bookingDtoForUpdateAndGet.getStart(), 1L).encode();
+        when(bookingService.getAllBookingsByBookerIdAfter(2L, State.ALL.toString(), cursor, 1))
+                .thenReturn(List.of(bookingDtoForUpdateAndGet));
+
+        mvc.perform(get("/bookings?state=ALL&cursor=" + cursor + "&size=1")
+                        .header("X-Sharer-User-Id", 2L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$[0].id", is(bookingDtoForUpdateAndGet.getId()), Long.class));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .getAllBookingsByBookerIdAfter(2L, State.ALL.toString(), cursor, 1);
+    }
+
+    @Test
+    void shouldFindAllByOwnerAfterCursor() throws Exception {
+        String cursor = new BookingCursor(LocalDateTime.of(2022, Month.OCTOBER, 10, 12, 30, 30), 2L).encode();
+        when(bookingService.getAllBookingsByOwnerIdAfter(1L, State.ALL.toString(), cursor, 2))
+                .thenReturn(List.of(bookingDtoForUpdateAndGet));
+
+        mvc.perform(get("/bookings/owner?state=ALL&cursor=" + cursor + "&size=2")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id", is(bookingDtoForUpdateAndGet.getId()), Long.class));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .getAllBookingsByOwnerIdAfter(1L, State.ALL.toString(), cursor, 2);
+    }
 }
@@ -5,19 +5,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingQuery;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+import ru.practicum.shareit.booking.dto.BookingForUpdateAndGetMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -34,8 +37,9 @@ public class BookingRepositoryTest {
             null, "Дрель", "Простая дрель", true, 1L, null);
     private final User owner = new User(null, "user", "user@user.com");
     private final User booker = new User(null, "name2", "email@email.ru");
-    private final Booking booking = new Booking(null, LocalDateTime.now().plusSeconds(1),
-            LocalDateTime.now().plusSeconds(2), null, null, null);
+    private final Booking booking = new Booking(null,
+            LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS),
+            LocalDateTime.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS), null, null, null);
 
     @BeforeEach
     void setUp() {
@@ -51,168 +55,130 @@ public class BookingRepositoryTest {
     void shouldFindAllByBookerId() {
         Assertions.assertEquals(1, itemRepository.findAll().size());
 
-        Booking testBooking = bookingRepository.findAllByBookerId(2L).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.ALL, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
+    }
+
+    @Test
+    void shouldFindItemIdsByBookerId() {
+        bookingRepository.save(new Booking(null, booking.getStart().plusDays(1), booking.getEnd().plusDays(1),
+                itemRepository.getById(1L), userRepository.getById(2L), null));
+
+        Assertions.assertEquals(List.of(1L), bookingRepository.findItemIdsByBookerId(2L));
+        Assertions.assertEquals(List.of(), bookingRepository.findItemIdsByBookerId(1L));
     }
 
     @Test
     void shouldFindAllByBookerIdByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        Booking testBooking = bookingRepository.findAllByBookerIdByPages(2L, sorted).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.ALL, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdCurrent() {
-        booking.setStart(LocalDateTime.now().minusDays(3));
-        booking.setEnd(LocalDateTime.now().plusDays(3));
-        Booking testBooking = bookingRepository.findAllByBookerIdCurrent(2L, LocalDateTime.now()).get(0);
+        booking.setStart(LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.CURRENT, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdCurrentByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        booking.setStart(LocalDateTime.now().minusMinutes(1));
-        booking.setEnd(LocalDateTime.now().plusMinutes(1));
-        Booking testBooking = bookingRepository.findAllByBookerIdCurrentByPages(
-                2L, LocalDateTime.now(), sorted).get(0);
+        booking.setStart(LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.CURRENT, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdFuture() {
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByBookerIdFuture(2L, LocalDateTime.now()).get(0);
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.FUTURE, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdFutureByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByBookerIdFutureByPages(
-                2L, LocalDateTime.now(), sorted).get(0);
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.FUTURE, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdPast() {
-        booking.setEnd(LocalDateTime.now().minusDays(1));
-        Booking testBooking = bookingRepository.findAllByBookerIdPast(2L, LocalDateTime.now()).get(0);
+        booking.setEnd(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.PAST, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdPastByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        booking.setEnd(LocalDateTime.now().minusDays(1));
-        Booking testBooking = bookingRepository.findAllByBookerIdPastByPages(
-                2L, LocalDateTime.now(), sorted).get(0);
+        booking.setEnd(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.PAST, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdAndStatus() {
         booking.setStatus(BookingStatus.WAITING);
-        Booking testBooking = bookingRepository.findAllByBookerIdAndStatus(2L, BookingStatus.WAITING).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.WAITING, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
     void shouldFindAllByBookerIdAndStatusByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
         booking.setStatus(BookingStatus.WAITING);
-        Booking testBooking = bookingRepository.findAllByBookerIdAndStatusByPages(
-                2L, BookingStatus.WAITING, sorted).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.WAITING, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItems() {
-        List<Item> items = itemRepository.findAll();
-        Booking testBooking = bookingRepository.findAllByItems(items).get(0);
+    void shouldFindAllByOwnerId() {
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.ALL, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        List<Item> items = itemRepository.findAll();
-        Booking testBooking = bookingRepository.findAllByItemsByPages(items, sorted).get(0);
+    void shouldFindAllByOwnerIdOnlyForOwnItems() {
+        Item otherItem = itemRepository.save(new Item(null, "Отвертка", "Простая отвертка", true, 2L, null));
+        bookingRepository.save(new Booking(null, booking.getStart(), booking.getEnd(),
+                otherItem, userRepository.getById(1L), null));
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        List<BookingDtoForUpdateAndGet> testBookings = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.ALL, LocalDateTime.now()));
+
+        Assertions.assertEquals(1, testBookings.size());
+        Assertions.assertEquals(1L, testBookings.get(0).getId());
+    }
+
+    @Test
+    void shouldFindAllByOwnerIdByPages() {
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.ALL, LocalDateTime.now()).withPage(0, 2)).get(0);
+
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
@@ -228,129 +194,85 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void shouldFindAllByItemsAndStatus() {
+    void shouldFindAllByOwnerIdAndStatus() {
         booking.setStatus(BookingStatus.WAITING);
-        List<Item> items = itemRepository.findAll();
-        Booking testBooking = bookingRepository.findAllByItemsAndStatus(items, BookingStatus.WAITING).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.WAITING, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsAndStatusByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
+    void shouldFindAllByOwnerIdAndStatusByPages() {
         booking.setStatus(BookingStatus.WAITING);
-        List<Item> items = itemRepository.findAll();
-        Booking testBooking = bookingRepository
-                .findAllByItemsAndStatusByPages(items, BookingStatus.WAITING, sorted).get(0);
+        BookingDtoForUpdateAndGet testBooking = bookingRepository
+                .findBookingDtos(BookingQuery.byOwner(1L, State.WAITING, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsCurrent() {
-        List<Item> items = itemRepository.findAll();
-        booking.setStart(LocalDateTime.now().minusMinutes(1));
-        booking.setEnd(LocalDateTime.now().plusMinutes(1));
-        Booking testBooking = bookingRepository.findAllByItemsCurrent(items, LocalDateTime.now()).get(0);
+    void shouldFindAllByOwnerIdCurrent() {
+        booking.setStart(LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.CURRENT, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsCurrentByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        List<Item> items = itemRepository.findAll();
-        booking.setStart(LocalDateTime.now().minusDays(1));
-        booking.setEnd(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemsCurrentByPages(items, LocalDateTime.now(), sorted).get(0);
+    void shouldFindAllByOwnerIdCurrentByPages() {
+        booking.setStart(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.CURRENT, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsFuture() {
-        List<Item> items = itemRepository.findAll();
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemsFuture(items, LocalDateTime.now()).get(0);
+    void shouldFindAllByOwnerIdFuture() {
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.FUTURE, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsFutureByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        List<Item> items = itemRepository.findAll();
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemsFutureByPages(items, LocalDateTime.now(), sorted).get(0);
+    void shouldFindAllByOwnerIdFutureByPages() {
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.FUTURE, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsPast() {
-        List<Item> items = itemRepository.findAll();
-        booking.setEnd(LocalDateTime.now().minusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemsPast(items, LocalDateTime.now()).get(0);
+    void shouldFindAllByOwnerIdPast() {
+        booking.setEnd(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.PAST, LocalDateTime.now())).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemsPastByPages() {
-        Pageable sorted = PageRequest.of((1 / 2), 2, Sort.by("start").descending());
-        List<Item> items = itemRepository.findAll();
-        booking.setEnd(LocalDateTime.now().minusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemsPastByPages(items, LocalDateTime.now(), sorted).get(0);
+    void shouldFindAllByOwnerIdPastByPages() {
+        booking.setEnd(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        BookingDtoForUpdateAndGet testBooking = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.PAST, LocalDateTime.now()).withPage(0, 2)).get(0);
 
-        Assertions.assertEquals(1, testBooking.getId());
-        Assertions.assertEquals(booking.getStart(), testBooking.getStart());
-        Assertions.assertEquals(booking.getEnd(), testBooking.getEnd());
-        Assertions.assertEquals(booking.getItem(), testBooking.getItem());
-        Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
-        Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
+        Assertions.assertEquals(BookingForUpdateAndGetMapper.mapToBookingDto(booking), testBooking);
     }
 
     @Test
-    void shouldFindAllByItemIdAndEndBeforeNow() {
-        booking.setStart(LocalDateTime.now().minusMinutes(2));
-        booking.setEnd(LocalDateTime.now().minusMinutes(1));
-        Booking testBooking = bookingRepository.findAllByItemIdAndEndBeforeNow(1L, LocalDateTime.now()).get(0);
+    void shouldFindFirstByItemIdAndEndBefore() {
+        booking.setStart(LocalDateTime.now().minusMinutes(2).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS));
+        Booking testBooking = bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(1L, LocalDateTime.now())
+                .get();
 
         Assertions.assertEquals(1, testBooking.getId());
         Assertions.assertEquals(booking.getStart(), testBooking.getStart());
@@ -361,9 +283,10 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void shouldFindAllByItemIdAndStartAfterNow() {
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        Booking testBooking = bookingRepository.findAllByItemIdAndStartAfterNow(1L, LocalDateTime.now()).get(0);
+    void shouldFindFirstByItemIdAndStartAfter() {
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        Booking testBooking = bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(1L, LocalDateTime.now())
+                .get();
 
         Assertions.assertEquals(1, testBooking.getId());
         Assertions.assertEquals(booking.getStart(), testBooking.getStart());
@@ -372,4 +295,84 @@ public class BookingRepositoryTest {
         Assertions.assertEquals(booking.getBooker(), testBooking.getBooker());
         Assertions.assertEquals(booking.getStatus(), testBooking.getStatus());
     }
+
+    @Test
+    void shouldFindLastBookingsByItemIds() {
+        booking.setStart(LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.SECONDS));
+        Booking latest = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), itemRepository.getById(1L), userRepository.getById(2L), null));
+        List<Booking> testBookings = bookingRepository.findLastBookingsByItemIds(List.of(1L), LocalDateTime.now());
+
+        Assertions.assertEquals(1, testBookings.size());
+        Assertions.assertEquals(latest.getId(), testBookings.get(0).getId());
+        Assertions.assertEquals(latest.getEnd(), testBookings.get(0).getEnd());
+    }
+
+    @Test
+    void shouldFindNextBookingsByItemIds() {
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        booking.setEnd(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(4), itemRepository.getById(1L), userRepository.getById(2L), null));
+        List<Booking> testBookings = bookingRepository.findNextBookingsByItemIds(List.of(1L), LocalDateTime.now());
+
+        Assertions.assertEquals(1, testBookings.size());
+        Assertions.assertEquals(1, testBookings.get(0).getId());
+        Assertions.assertEquals(booking.getStart(), testBookings.get(0).getStart());
+    }
+
+    @Test
+    void shouldFindAllByBookerIdAfterCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        booking.setStart(start);
+        bookingRepository.save(new Booking(null, start, booking.getEnd(),
+                itemRepository.getById(1L), userRepository.getById(2L), null));
+        bookingRepository.save(new Booking(null, start.plusDays(1), booking.getEnd().plusDays(1),
+                itemRepository.getById(1L), userRepository.getById(2L), null));
+
+        List<BookingDtoForUpdateAndGet> firstPage = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.ALL, LocalDateTime.now()).withCursor(null, 2));
+        BookingDtoForUpdateAndGet last = firstPage.get(1);
+        List<BookingDtoForUpdateAndGet> secondPage = bookingRepository.findBookingDtos(BookingQuery.byBooker(2L,
+                State.ALL, LocalDateTime.now()).withCursor(new BookingCursor(last.getStart(), last.getId()), 2));
+
+        Assertions.assertEquals(List.of(3L, 2L), List.of(firstPage.get(0).getId(), last.getId()));
+        Assertions.assertEquals(1, secondPage.size());
+        Assertions.assertEquals(1L, secondPage.get(0).getId());
+    }
+
+    @Test
+    void shouldFindAllByOwnerIdAfterCursor() {
+        booking.setStart(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        bookingRepository.save(new Booking(null, booking.getStart().plusDays(1), booking.getEnd().plusDays(1),
+                itemRepository.getById(1L), userRepository.getById(2L), BookingStatus.WAITING));
+        BookingDtoForUpdateAndGet newest = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.WAITING, LocalDateTime.now()).withCursor(null, 1)).get(0);
+
+        List<BookingDtoForUpdateAndGet> testBookings = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.ALL, LocalDateTime.now()).withCursor(
+                BookingCursor.decode(new BookingCursor(newest.getStart(), newest.getId()).encode()), 10));
+
+        Assertions.assertEquals(2L, newest.getId());
+        Assertions.assertEquals(1, testBookings.size());
+        Assertions.assertEquals(1L, testBookings.get(0).getId());
+    }
+
+    @Test
+    void shouldFindBookingDtosByBookerId() {
+        List<BookingDtoForUpdateAndGet> testBookings = bookingRepository.findBookingDtos(
+                BookingQuery.byBooker(2L, State.ALL, LocalDateTime.now()).withPage(0, 2));
+
+        Assertions.assertEquals(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)), testBookings);
+    }
+
+    @Test
+    void shouldFindBookingDtosByOwnerId() {
+        booking.setStatus(BookingStatus.WAITING);
+        List<BookingDtoForUpdateAndGet> testBookings = bookingRepository.findBookingDtos(
+                BookingQuery.byOwner(1L, State.WAITING, LocalDateTime.now()));
+
+        Assertions.assertEquals(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)), testBookings);
+    }
 }
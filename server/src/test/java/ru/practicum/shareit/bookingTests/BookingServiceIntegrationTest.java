@@ -1,6 +1,8 @@
 package ru.practicum.shareit.bookingTests;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +13,7 @@ import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
 import ru.practicum.shareit.booking.dto.BookingForUpdateAndGetMapper;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.*;
@@ -28,7 +31,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -117,6 +120,8 @@ public class BookingServiceIntegrationTest {
         userService.createUser(bookerDto);
         itemService.addNewItem(1L, itemDto);
         bookingService.addNewBooking(2L, bookingDto);
+        em.flush();
+        em.clear();
 
         TypedQuery<Booking> query = em.createQuery("Select b from Booking b", Booking.class);
         List<Booking> bookings = query.getResultList();
@@ -134,6 +139,8 @@ public class BookingServiceIntegrationTest {
         userService.createUser(bookerDto);
         itemService.addNewItem(1L, itemDto);
         bookingService.addNewBooking(2L, bookingDto);
+        em.flush();
+        em.clear();
 
         TypedQuery<Booking> query = em.createQuery("Select b from Booking b", Booking.class);
         List<Booking> bookings = query.getResultList();
@@ -151,6 +158,8 @@ public class BookingServiceIntegrationTest {
         userService.createUser(bookerDto);
         itemService.addNewItem(1L, itemDto);
         bookingService.addNewBooking(2L, bookingDto);
+        em.flush();
+        em.clear();
 
         TypedQuery<Booking> query = em.createQuery("Select b from Booking b", Booking.class);
         List<Booking> bookings = query.getResultList();
@@ -168,6 +177,8 @@ public class BookingServiceIntegrationTest {
         userService.createUser(bookerDto);
         itemService.addNewItem(1L, itemDto);
         bookingService.addNewBooking(2L, bookingDto);
+        em.flush();
+        em.clear();
 
         TypedQuery<Booking> query = em.createQuery("Select b from Booking b", Booking.class);
         List<Booking> bookings = query.getResultList();
@@ -178,4 +189,38 @@ public class BookingServiceIntegrationTest {
 
         assertThat(testBookings, equalTo(bookings));
     }
+
+    @Test
+    void shouldGetAllBookingsWithBoundedStatementCount() throws Exception {
+        userService.createUser(userDto);
+        userService.createUser(bookerDto);
+        userService.createUser(UserMapper.mapToUserDto(new User(null, "name3", "other@email.ru")));
+        for (int i = 0; i < 3; i++) {
+            Long itemId = itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null))
+                    .getId();
+            bookingService.addNewBooking(2L, new BookingDto(null, LocalDateTime.now().plusDays(1),
+                    LocalDateTime.now().plusDays(2), itemId, null, null, null));
+            bookingService.addNewBooking(3L, new BookingDto(null, LocalDateTime.now().plusDays(3),
+                    LocalDateTime.now().plusDays(4), itemId, null, null, null));
+        }
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        em.flush();
+        em.clear();
+        statistics.clear();
+        List<BookingDtoForUpdateAndGet> ownerBookings = bookingService.getAllBookingsByOwnerId(
+                1L, State.ALL.toString(), null, null);
+        long ownerStatements = statistics.getPrepareStatementCount();
+
+        em.clear();
+        statistics.clear();
+        List<BookingDtoForUpdateAndGet> bookerBookings = bookingService.getAllBookingsByBookerId(
+                2L, State.ALL.toString(), 0, 10);
+        long bookerStatements = statistics.getPrepareStatementCount();
+
+        assertThat(ownerBookings, hasSize(6));
+        assertThat(bookerBookings, hasSize(3));
+        assertThat(ownerStatements, lessThanOrEqualTo(2L));
+        assertThat(bookerStatements, lessThanOrEqualTo(2L));
+    }
 }
@@ -9,18 +9,20 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForUpdateAndGet;
+import ru.practicum.shareit.booking.dto.BookingForUpdateAndGetMapper;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.IncorrectEnumException;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -28,10 +30,13 @@ import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
-import java.util.ArrayList;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -46,9 +51,16 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private ExistenceChecker existenceChecker;
+    @Mock
     private UserService userService;
     @Mock
     private ItemService itemService;
+    @Mock
+    private ItemOccupancy itemOccupancy;
+    @Mock
+    private ItemViewCache itemViewCache;
+    private final Clock clock = Clock.fixed(Instant.parse("2022-10-10T10:00:00Z"), ZoneOffset.UTC);
     private BookingService bookingService;
     private MockitoSession session;
 
@@ -78,8 +90,12 @@ public class BookingServiceTest {
                 bookingRepository,
                 itemRepository,
                 userRepository,
+                existenceChecker,
                 userService,
-                itemService
+                itemService,
+                itemOccupancy,
+                itemViewCache,
+                clock
         );
     }
 
@@ -89,7 +105,7 @@ public class BookingServiceTest {
     }
 
     @Test
-    void shouldAddNewBooking() throws IncorrectObjectException, IncorrectFieldException {
+    void shouldAddNewBooking() throws IncorrectObjectException, IncorrectFieldException, ConflictException {
         Mockito
                 .when(itemRepository.getById(1L))
                 .thenReturn(item);
@@ -111,8 +127,15 @@ public class BookingServiceTest {
         Assertions.assertEquals(bookingDto.getStatus(), newBooking.getStatus());
 
         Mockito
-                .verify(itemRepository, Mockito.times(2))
+                .verify(itemRepository, Mockito.times(1))
                 .getById(1L);
+        Mockito
+                .verify(itemRepository, Mockito.times(1))
+                .findByIdForUpdate(1L);
+        Mockito
+                .verify(bookingRepository, Mockito.times(1))
+                .existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                        1L, BookingStatus.APPROVED, booking.getEnd(), booking.getStart());
         Mockito
                 .verify(userRepository, Mockito.times(2))
                 .getById(2L);
@@ -142,13 +165,13 @@ public class BookingServiceTest {
     }
 
     @Test
-    void shouldChangeBookingStatusApproved() throws IncorrectObjectException, IncorrectFieldException {
+    void shouldChangeBookingStatusApproved() throws Exception {
         Mockito
                 .when(bookingRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(List.of(booking));
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.getById(1L))
                 .thenReturn(item);
@@ -173,14 +196,21 @@ public class BookingServiceTest {
                 .verify(bookingRepository, Mockito.times(2))
                 .findById(1L);
         Mockito
-                .verify(bookingRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Booking.class), anyLong());
         Mockito
                 .verify(itemRepository, Mockito.times(1))
                 .getById(1L);
         Mockito
                 .verify(itemService, Mockito.times(1))
                 .checkCorrectItemOwner(1L, 1L);
+        Mockito
+                .verify(itemRepository, Mockito.times(1))
+                .findByIdForUpdate(1L);
+        Mockito
+                .verify(bookingRepository, Mockito.times(1))
+                .existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(
+                        1L, 1L, BookingStatus.APPROVED, booking.getEnd(), booking.getStart());
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
                 .save(booking);
@@ -194,14 +224,63 @@ public class BookingServiceTest {
                 );
     }
 
+    @Test
+    void shouldNotAddNewBookingOverlappingApproved() {
+        Mockito
+                .when(itemRepository.getById(1L))
+                .thenReturn(item);
+        Mockito
+                .when(userRepository.getById(2L))
+                .thenReturn(booker);
+        Mockito
+                .when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                        1L, BookingStatus.APPROVED, bookingDto.getEnd(), bookingDto.getStart()))
+                .thenReturn(true);
+
+        final ConflictException exception = Assertions.assertThrows(
+                ConflictException.class,
+                () -> bookingService.addNewBooking(2L, bookingDto));
+
+        Assertions.assertEquals("The item is already booked for the specified period", exception.getMessage());
+        Mockito
+                .verify(bookingRepository, Mockito.never())
+                .save(any());
+    }
+
+    @Test
+    void shouldNotApproveBookingOverlappingApproved() {
+        Mockito
+                .when(bookingRepository.findById(any()))
+                .thenReturn(Optional.ofNullable(booking));
+        Mockito
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
+        Mockito
+                .when(itemRepository.getById(1L))
+                .thenReturn(item);
+        Mockito
+                .when(bookingRepository.existsByItemIdAndIdNotAndStatusAndStartBeforeAndEndAfter(
+                        1L, 1L, BookingStatus.APPROVED, booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        Assertions.assertThrows(
+                ConflictException.class,
+                () -> bookingService.changeBookingStatus(1L, 1L, true));
+
+        Assertions.assertEquals(BookingStatus.WAITING, booking.getStatus());
+        Mockito
+                .verify(bookingRepository, Mockito.never())
+                .save(any());
+    }
+
     @Test
     void shouldChangeBookingStatusRejected() throws Exception {
         Mockito
                 .when(bookingRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(List.of(booking));
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.getById(1L))
                 .thenReturn(item);
@@ -227,14 +306,17 @@ public class BookingServiceTest {
                 .verify(bookingRepository, Mockito.times(2))
                 .findById(1L);
         Mockito
-                .verify(bookingRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Booking.class), anyLong());
         Mockito
                 .verify(itemRepository, Mockito.times(1))
                 .getById(1L);
         Mockito
                 .verify(itemService, Mockito.times(1))
                 .checkCorrectItemOwner(1L, 1L);
+        Mockito
+                .verify(itemRepository, Mockito.times(1))
+                .findByIdForUpdate(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
                 .save(booking);
@@ -251,8 +333,8 @@ public class BookingServiceTest {
     @Test
     void shouldChangeBookingStatusNoBookings() throws IncorrectObjectException {
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(new ArrayList<>());
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(false);
 
         final IncorrectObjectException exception = Assertions.assertThrows(
                 IncorrectObjectException.class,
@@ -263,8 +345,8 @@ public class BookingServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(bookingRepository, Mockito.times(1))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Booking.class), anyLong());
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -283,8 +365,8 @@ public class BookingServiceTest {
                 .when(bookingRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(booking));
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(List.of(booking));
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
 
         final IncorrectFieldException exception = Assertions.assertThrows(
                 IncorrectFieldException.class,
@@ -299,8 +381,8 @@ public class BookingServiceTest {
                 .verify(bookingRepository, Mockito.times(1))
                 .findById(1L);
         Mockito
-                .verify(bookingRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Booking.class), anyLong());
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -314,8 +396,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetBookingById() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(List.of(booking));
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(bookingRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(booking));
@@ -339,8 +421,8 @@ public class BookingServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(bookingRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Booking.class), anyLong());
         Mockito
                 .verify(bookingRepository, Mockito.times(2))
                 .findById(1L);
@@ -363,8 +445,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetBookingByIdWrongUser() {
         Mockito
-                .when(bookingRepository.findAll())
-                .thenReturn(List.of(booking));
+                .when(existenceChecker.exists(eq(Booking.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(bookingRepository.findById(any()))
                 .thenReturn(Optional.ofNullable(booking));
@@ -382,8 +464,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByBookerIdAll() throws IncorrectObjectException, IncorrectEnumException {
         Mockito
-                .when(bookingRepository.findAllByBookerId(2L))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.ALL, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.ALL), null, null);
@@ -400,7 +482,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerId(2L);
+                .findBookingDtos(bookerQuery(State.ALL, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -414,8 +496,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByBookerIdRejected() throws IncorrectObjectException, IncorrectEnumException {
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndStatus(2L, BookingStatus.REJECTED))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.REJECTED, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.REJECTED), null, null);
@@ -432,7 +514,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatus(2L, BookingStatus.REJECTED);
+                .findBookingDtos(bookerQuery(State.REJECTED, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -445,11 +527,9 @@ public class BookingServiceTest {
 
     @Test
     void shouldGetAllBookingsByBookerIdByPagesWaiting() throws IncorrectObjectException, IncorrectEnumException {
-        Pageable sorted = PageRequest.of((1), 1, Sort.by("start").descending());
-
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndStatusByPages(2L, BookingStatus.WAITING, sorted))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.WAITING, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.WAITING), 1, 1);
@@ -464,7 +544,7 @@ public class BookingServiceTest {
         Mockito.verify(userService, Mockito.times(1))
                 .checkUserExist(2L);
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatusByPages(2L, BookingStatus.WAITING, sorted);
+                .findBookingDtos(bookerQuery(State.WAITING, 1, 1));
         Mockito.verifyNoMoreInteractions(
                 bookingRepository,
                 itemRepository,
@@ -476,11 +556,9 @@ public class BookingServiceTest {
 
     @Test
     void shouldGetAllBookingsByBookerIdByPagesAll() throws IncorrectObjectException, IncorrectEnumException {
-        Pageable sorted = PageRequest.of((1), 1, Sort.by("start").descending());
-
         Mockito
-                .when(bookingRepository.findAllByBookerIdByPages(2L, sorted))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.ALL, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.ALL), 1, 1);
@@ -497,7 +575,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdByPages(2L, sorted);
+                .findBookingDtos(bookerQuery(State.ALL, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -510,12 +588,11 @@ public class BookingServiceTest {
 
     @Test
     void shouldGetAllBookingsByBookerIdByPagesRejected() throws IncorrectObjectException, IncorrectEnumException {
-        Pageable sorted = PageRequest.of((1), 1, Sort.by("start").descending());
         booking.setStatus(BookingStatus.REJECTED);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdAndStatusByPages(2L, BookingStatus.REJECTED, sorted))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.REJECTED, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.REJECTED), 1, 1);
@@ -532,7 +609,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatusByPages(2L, BookingStatus.REJECTED, sorted);
+                .findBookingDtos(bookerQuery(State.REJECTED, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -551,8 +628,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdCurrent(anyLong(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.CURRENT, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.CURRENT), null, null);
@@ -569,7 +646,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdCurrent(anyLong(), any());
+                .findBookingDtos(bookerQuery(State.CURRENT, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -588,8 +665,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdCurrentByPages(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.CURRENT, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.CURRENT), 1, 1);
@@ -606,7 +683,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdCurrentByPages(anyLong(), any(), any());
+                .findBookingDtos(bookerQuery(State.CURRENT, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -625,8 +702,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdFuture(anyLong(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.FUTURE, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.FUTURE), null, null);
@@ -643,7 +720,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdFuture(anyLong(), any());
+                .findBookingDtos(bookerQuery(State.FUTURE, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -662,8 +739,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdFutureByPages(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.FUTURE, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.FUTURE), 1, 1);
@@ -680,7 +757,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdFutureByPages(anyLong(), any(), any());
+                .findBookingDtos(bookerQuery(State.FUTURE, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -699,8 +776,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdPast(anyLong(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.PAST, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.PAST), null, null);
@@ -717,7 +794,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdPast(anyLong(), any());
+                .findBookingDtos(bookerQuery(State.PAST, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -736,8 +813,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(bookingRepository.findAllByBookerIdPastByPages(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(bookerQuery(State.PAST, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByBookerId(2L, String.valueOf(State.PAST), 1, 1);
@@ -754,7 +831,7 @@ public class BookingServiceTest {
                 .checkUserExist(2L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdPastByPages(anyLong(), any(), any());
+                .findBookingDtos(bookerQuery(State.PAST, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -767,15 +844,11 @@ public class BookingServiceTest {
 
     @Test
     void shouldGetAllBookingsByOwnerIdByPagesRejected() throws IncorrectObjectException, IncorrectEnumException {
-        Pageable sorted = PageRequest.of((1), 1, Sort.by("start").descending());
         booking.setStatus(BookingStatus.REJECTED);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsAndStatusByPages(List.of(item), BookingStatus.REJECTED, sorted))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.REJECTED, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(BookingStatus.REJECTED), 1, 1);
@@ -790,12 +863,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsAndStatusByPages(List.of(item), BookingStatus.REJECTED, sorted);
+                .findBookingDtos(ownerQuery(State.REJECTED, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -809,11 +879,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerIdAll() throws IncorrectObjectException, IncorrectEnumException {
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItems(List.of(item)))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.ALL, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.ALL), null, null);
@@ -828,12 +895,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItems(List.of(item));
+                .findBookingDtos(ownerQuery(State.ALL, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -847,11 +911,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerIdRejected() throws IncorrectObjectException, IncorrectEnumException {
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsAndStatus(List.of(item), BookingStatus.REJECTED))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.REJECTED, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.REJECTED), null, null);
@@ -866,12 +927,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsAndStatus(List.of(item), BookingStatus.REJECTED);
+                .findBookingDtos(ownerQuery(State.REJECTED, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -884,14 +942,9 @@ public class BookingServiceTest {
 
     @Test
     void shouldGetAllBookingsByOwnerIdByPagesAll() throws IncorrectObjectException, IncorrectEnumException {
-        Pageable sorted = PageRequest.of((1), 1, Sort.by("start").descending());
-
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsByPages(List.of(item), sorted))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.ALL, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.ALL), 1, 1);
@@ -906,12 +959,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsByPages(List.of(item), sorted);
+                .findBookingDtos(ownerQuery(State.ALL, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -930,11 +980,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsCurrent(anyList(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.CURRENT, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.CURRENT), null, null);
@@ -949,12 +996,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsCurrent(anyList(), any());
+                .findBookingDtos(ownerQuery(State.CURRENT, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -973,11 +1017,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsFuture(anyList(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.FUTURE, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.FUTURE), null, null);
@@ -992,12 +1033,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsFuture(anyList(), any());
+                .findBookingDtos(ownerQuery(State.FUTURE, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -1016,11 +1054,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsPast(anyList(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.PAST, null, null)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.PAST), null, null);
@@ -1035,12 +1070,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsPast(anyList(), any());
+                .findBookingDtos(ownerQuery(State.PAST, null, null));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -1059,11 +1091,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsCurrentByPages(anyList(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.CURRENT, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.CURRENT), 1, 1);
@@ -1078,12 +1107,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsCurrentByPages(anyList(), any(), any());
+                .findBookingDtos(ownerQuery(State.CURRENT, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -1102,11 +1128,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsFutureByPages(anyList(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.FUTURE, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.FUTURE), 1, 1);
@@ -1121,12 +1144,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsFutureByPages(anyList(), any(), any());
+                .findBookingDtos(ownerQuery(State.FUTURE, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -1145,11 +1165,8 @@ public class BookingServiceTest {
         booking.setEnd(end);
 
         Mockito
-                .when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(List.of(item));
-        Mockito
-                .when(bookingRepository.findAllByItemsPastByPages(anyList(), any(), any()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findBookingDtos(ownerQuery(State.PAST, 1, 1)))
+                .thenReturn(List.of(BookingForUpdateAndGetMapper.mapToBookingDto(booking)));
 
         List<BookingDtoForUpdateAndGet> bookings = bookingService
                 .getAllBookingsByOwnerId(1L, String.valueOf(State.PAST), 1, 1);
@@ -1164,12 +1181,9 @@ public class BookingServiceTest {
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemsPastByPages(anyList(), any(), any());
+                .findBookingDtos(ownerQuery(State.PAST, 1, 1));
         Mockito
                 .verifyNoMoreInteractions(
                         bookingRepository,
@@ -1190,7 +1204,7 @@ public class BookingServiceTest {
 
         final IncorrectFieldException exception2 = Assertions.assertThrows(
                 IncorrectFieldException.class,
-                () -> bookingService.checkCorrectItemBookerAndBookingEnded(1L, 1L));
+                () -> bookingService.checkCorrectItemBookerAndBookingEnded(1L, 1L, LocalDateTime.now(clock)));
         Assertions.assertEquals("Incorrect item booker ID is specified", exception2.getMessage());
 
         Mockito
@@ -1205,4 +1219,22 @@ public class BookingServiceTest {
                         itemService
                 );
     }
+
+    private BookingQuery bookerQuery(State state, Integer from, Integer size) {
+        return argThat(query -> query.getRole() == BookingQuery.Role.BOOKER
+                && query.getNow().equals(LocalDateTime.now(clock))
+                && query.getUserId().equals(2L)
+                && query.getState() == state
+                && Objects.equals(query.getFrom(), from)
+                && Objects.equals(query.getSize(), size));
+    }
+
+    private BookingQuery ownerQuery(State state, Integer from, Integer size) {
+        return argThat(query -> query.getRole() == BookingQuery.Role.OWNER
+                && query.getNow().equals(LocalDateTime.now(clock))
+                && query.getUserId().equals(1L)
+                && query.getState() == state
+                && Objects.equals(query.getFrom(), from)
+                && Objects.equals(query.getSize(), size));
+    }
 }
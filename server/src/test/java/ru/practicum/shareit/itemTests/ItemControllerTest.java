@@ -16,7 +16,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForGet;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -216,6 +218,31 @@ public class ItemControllerTest {
                 .searchItemsByText("Дрель", null, null, 1L);
     }
 
+    @Test
+    void shouldFindItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2022, Month.OCTOBER, 1, 0, 0);
+        LocalDateTime busyFrom = LocalDateTime.of(2022, Month.OCTOBER, 10, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2022, Month.OCTOBER, 20, 0, 0);
+        when(itemService.getItemAvailability(1L, from, to, 1L))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to, List.of(
+                        new AvailabilitySlotDto(from, busyFrom, true),
+                        new AvailabilitySlotDto(busyFrom, to, false))));
+
+        mvc.perform(get("/items/1/availability?from=2022-10-01T00:00:00&to=2022-10-20T00:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1L), Long.class))
+                .andExpect(jsonPath("$.slots[0].start", is("2022-10-01T00:00:00")))
+                .andExpect(jsonPath("$.slots[0].available", is(true)))
+                .andExpect(jsonPath("$.slots[1].start", is("2022-10-10T12:00:00")))
+                .andExpect(jsonPath("$.slots[1].available", is(false)));
+
+        Mockito.verify(itemService, Mockito.times(1))
+                .getItemAvailability(1L, from, to, 1L);
+    }
+
     @Test
     void shouldSearchItemByTextByPages() throws Exception {
         when(itemService.searchItemsByText("Дрель", 1, 1, 1L))
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.itemTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoSession;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.availability.BookedPeriod;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemOccupancyTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    private ItemOccupancy itemOccupancy;
+    private MockitoSession session;
+
+    private final Item item = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+    private final LocalDateTime from = LocalDateTime.of(2030, Month.JANUARY, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2030, Month.JANUARY, 31, 0, 0);
+
+    @BeforeEach
+    void init() {
+        session = Mockito.mockitoSession().initMocks(this).startMocking();
+        itemOccupancy = new ItemOccupancy(bookingRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.finishMocking();
+    }
+
+    @Test
+    void shouldReturnFreeAndBusySlots() {
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(
+                        period(3L, day(20), day(25)),
+                        period(1L, day(5), day(10)),
+                        period(2L, day(10), day(12))));
+
+        List<AvailabilitySlotDto> slots = itemOccupancy.getSlots(1L, from, to);
+
+        Assertions.assertEquals(List.of(
+                new AvailabilitySlotDto(from, day(5), true),
+                new AvailabilitySlotDto(day(5), day(12), false),
+                new AvailabilitySlotDto(day(12), day(20), true),
+                new AvailabilitySlotDto(day(20), day(25), false),
+                new AvailabilitySlotDto(day(25), to, true)), slots);
+    }
+
+    @Test
+    void shouldClipSlotsToRequestedPeriod() {
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(1L, day(5), day(10)), period(2L, day(20), day(25))));
+
+        List<AvailabilitySlotDto> slots = itemOccupancy.getSlots(1L, day(7), day(22));
+
+        Assertions.assertEquals(List.of(
+                new AvailabilitySlotDto(day(7), day(10), false),
+                new AvailabilitySlotDto(day(10), day(20), true),
+                new AvailabilitySlotDto(day(20), day(22), false)), slots);
+    }
+
+    @Test
+    void shouldLoadItemBookingsOnce() {
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of());
+
+        itemOccupancy.getSlots(1L, from, to);
+        List<AvailabilitySlotDto> slots = itemOccupancy.getSlots(1L, from, to);
+
+        Assertions.assertEquals(List.of(new AvailabilitySlotDto(from, to, true)), slots);
+        Mockito
+                .verify(bookingRepository, Mockito.times(1))
+                .findBookedPeriods(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void shouldReloadEvictedItems() {
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(1L, day(5), day(10))))
+                .thenReturn(List.of());
+        itemOccupancy.getSlots(1L, from, to);
+
+        itemOccupancy.evict(List.of(1L));
+
+        Assertions.assertEquals(List.of(new AvailabilitySlotDto(from, to, true)), itemOccupancy.getSlots(1L, from, to));
+        Mockito
+                .verify(bookingRepository, Mockito.times(2))
+                .findBookedPeriods(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void shouldApplyStatusChanges() {
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(1L, day(5), day(10))));
+        itemOccupancy.getSlots(1L, from, to);
+
+        itemOccupancy.onStatusChanged(booking(2L, day(15), day(16), BookingStatus.APPROVED));
+        itemOccupancy.onStatusChanged(booking(1L, day(5), day(10), BookingStatus.REJECTED));
+
+        Assertions.assertEquals(List.of(
+                new AvailabilitySlotDto(from, day(15), true),
+                new AvailabilitySlotDto(day(15), day(16), false),
+                new AvailabilitySlotDto(day(16), to, true)), itemOccupancy.getSlots(1L, from, to));
+    }
+
+    @Test
+    void shouldMatchNaiveScanOnManyBookings() {
+        List<BookedPeriod> periods = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            LocalDateTime start = from.plusHours(i * 3);
+            periods.add(period(i, start, start.plusHours(1 + i % 3)));
+        }
+        Mockito
+                .when(bookingRepository.findBookedPeriods(1L, BookingStatus.APPROVED))
+                .thenReturn(periods);
+        LocalDateTime windowStart = from.plusDays(100).plusMinutes(30);
+        LocalDateTime windowEnd = windowStart.plusDays(365);
+
+        List<AvailabilitySlotDto> slots = itemOccupancy.getSlots(1L, windowStart, windowEnd);
+
+        Assertions.assertEquals(windowStart, slots.get(0).getStart());
+        Assertions.assertEquals(windowEnd, slots.get(slots.size() - 1).getEnd());
+        for (int i = 1; i < slots.size(); i++) {
+            Assertions.assertEquals(slots.get(i - 1).getEnd(), slots.get(i).getStart());
+            Assertions.assertNotEquals(slots.get(i - 1).getAvailable(), slots.get(i).getAvailable());
+        }
+        for (AvailabilitySlotDto slot : slots) {
+            boolean busy = periods.stream().anyMatch(p -> p.getStart().isBefore(slot.getEnd())
+                    && p.getEnd().isAfter(slot.getStart()));
+            Assertions.assertEquals(!busy, slot.getAvailable(), slot.toString());
+        }
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new Booking(id, start, end, item, null, status);
+    }
+
+    private static BookedPeriod period(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        return new BookedPeriod(bookingId, start, end);
+    }
+
+    private LocalDateTime day(int dayOfMonth) {
+        return from.withDayOfMonth(dayOfMonth);
+    }
+}
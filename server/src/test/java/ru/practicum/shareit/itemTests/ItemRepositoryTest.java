@@ -14,6 +14,8 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -53,6 +55,27 @@ public class ItemRepositoryTest {
         Assertions.assertEquals(item.getRequestId(), itemByText.getRequestId());
     }
 
+    @Test
+    void shouldSearchByTextOnlyAvailableItems() {
+        item.setAvailable(false);
+        itemRepository.save(item);
+        itemRepository.save(new Item(null, "Ящик", "Ящик для дрели", false, 1L, null));
+
+        Assertions.assertEquals(new ArrayList<>(), itemRepository.searchByText("Дрел"));
+    }
+
+    @Test
+    void shouldSearchByTextWithNameMatchesFirst() {
+        itemRepository.save(new Item(null, "Ящик", "Ящик для дрели", true, 1L, null));
+        itemRepository.save(item);
+
+        List<String> names = itemRepository.searchByText("дрел").stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(List.of("Дрель", "Ящик"), names);
+    }
+
     @Test
     void shouldFindAllByOwnerIdByPages() {
         itemRepository.save(item);
@@ -84,4 +107,19 @@ public class ItemRepositoryTest {
         Assertions.assertEquals(item.getOwnerId(), itemByText.getOwnerId());
         Assertions.assertEquals(item.getRequestId(), itemByText.getRequestId());
     }
+
+    @Test
+    void shouldFindAllByRequestIdIn() {
+        item.setRequestId(1L);
+        item2.setRequestId(2L);
+        itemRepository.save(item);
+        itemRepository.save(item2);
+        itemRepository.save(new Item(null, "Молоток", "Простой молоток", true, 1L, null));
+
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(1L, 2L));
+
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(List.of(1L, 2L),
+                items.stream().map(Item::getRequestId).sorted().collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.itemTests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ItemSearchCacheTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger searches = new AtomicInteger();
+    private final ItemDto drill = new ItemDto(1L, "Дрель", "Простая дрель", true, null);
+    private final ItemDto saw = new ItemDto(2L, "Пила", "Ручная пила", true, null);
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void init() {
+        cache = new ItemSearchCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldCacheByNormalisedTextAndPage() {
+        cache.get("дрель", null, null, () -> search(drill));
+        cache.get("ДРЕЛЬ", null, null, () -> search(drill));
+        cache.get("дрель", 0, 10, () -> search(drill));
+
+        Assertions.assertEquals(2, searches.get());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    void shouldEvictQueriesContainingChangedItem() {
+        cache.get("дрель", null, null, () -> search(drill));
+        cache.get("пила", null, null, () -> search(saw));
+
+        cache.invalidate(null, new Item(1L, "Перфоратор", "Мощный", false, 1L, null));
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(List.of(saw), cache.get("пила", null, null, () -> search()));
+    }
+
+    @Test
+    void shouldEvictQueriesMatchedByChangedItem() {
+        cache.get("пила", null, null, () -> search(saw));
+        cache.get("дрель", null, null, () -> search(drill));
+        cache.get("молоток", null, null, () -> search());
+
+        cache.invalidate(null, new Item(3L, "Электропила", "Цепная", true, 1L, null));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(List.of(drill), cache.get("дрель", null, null, () -> search()));
+    }
+
+    @Test
+    void shouldNotEvictQueriesMatchedByUnavailableItem() {
+        cache.get("пила", null, null, () -> search(saw));
+
+        cache.invalidate(null, new Item(3L, "Электропила", "Цепная", false, 1L, null));
+
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldEvictEveryPageOfQueriesMatchedByPreviousVersion() {
+        ItemDto otherDrill = new ItemDto(3L, "Дрель", "Ударная дрель", true, null);
+        cache.get("дрель", 0, 1, () -> search(drill));
+        cache.get("дрель", 1, 1, () -> search(otherDrill));
+        cache.get("пила", null, null, () -> search(saw));
+
+        cache.invalidate(new Item(1L, "Дрель", "Простая дрель", true, 1L, null),
+                new Item(1L, "Перфоратор", "Мощный", true, 1L, null));
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(List.of(saw), cache.get("пила", null, null, () -> search()));
+    }
+
+    @Test
+    void shouldEvictQueriesMatchedByRemovedItems() {
+        cache.get("дрель", 1, 1, () -> search());
+        cache.get("пила", null, null, () -> search(saw));
+
+        cache.invalidate(List.of(new Item(1L, "Дрель", "Простая дрель", true, 1L, null)));
+
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldKeepTrackOfQueriesAcrossSizeEvictions() {
+        ItemSearchCache smallCache = new ItemSearchCache(1, Duration.ofMinutes(1), meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            smallCache.get(i % 2 == 0 ? "дрель" : "пила", null, null, () -> search(drill));
+            Assertions.assertEquals(1, smallCache.size());
+        }
+
+        smallCache.invalidate(null, new Item(3L, "Дрель", "Пила", true, 1L, null));
+
+        Assertions.assertEquals(0, smallCache.size());
+    }
+
+    @Test
+    void shouldEvictAfterCommitInsideTransaction() {
+        cache.get("дрель", null, null, () -> search(drill));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(null, new Item(1L, "Перфоратор", "Мощный", true, 1L, null));
+
+            Assertions.assertEquals(1, cache.size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldExposeHitAndMissMetrics() {
+        cache.get("дрель", null, null, () -> search(drill));
+        cache.get("дрель", null, null, () -> search(drill));
+        cache.get("дрель", null, null, () -> search(drill));
+
+        Assertions.assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tags("cache", ItemSearchCache.CACHE_NAME, "result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", ItemSearchCache.CACHE_NAME, "result", "miss").functionCounter().count());
+    }
+
+    private List<ItemDto> search(ItemDto... items) {
+        searches.incrementAndGet();
+        return List.of(items);
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.itemTests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndexEndpoint;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = "shareit.search.index.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemSearchIndexTest {
+    private final EntityManager em;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchIndexEndpoint itemSearchIndexEndpoint;
+    private final PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userService.createUser(UserMapper.mapToUserDto(new User(null, "user", "user@user.com")));
+        itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        itemService.addNewItem(1L, new ItemDto(null, "Ящик", "Ящик для дрели", true, null));
+        itemService.addNewItem(1L, new ItemDto(null, "Дрель ударная", "Сломана", false, null));
+        itemService.addNewItem(1L, new ItemDto(null, "Отвертка", "Аккумуляторная отвертка-дрель", true, null));
+        itemService.addNewItem(1L, new ItemDto(null, "Тарелка", "Простая тарелка", true, null));
+    }
+
+    @Test
+    void shouldAnswerLikeDatabaseSearch() throws Exception {
+        itemService.addNewItem(1L, new ItemDto(null, "Сверло_6", "Скидка 50%", true, null));
+        assertThat(itemSearchIndex.isReady(), is(true));
+        for (String text : List.of("дрел", "ДРЕЛЬ", "Простая", "ая дре", "ка-дре", "тарелка", "нет такого", "-",
+                "%", "_", "о_6", "50%", "\\")) {
+            List<ItemDto> expected = ItemMapper.mapToItemDto(itemRepository.searchByText(text));
+
+            assertThat(text, itemService.searchItemsByText(text, null, null, 1L), equalTo(expected));
+        }
+    }
+
+    @Test
+    void shouldMatchDatabaseSearchOnRandomCorpus() throws Exception {
+        List<String> words = List.of("Дрель", "drill", "Drill-2000", "ящик", "отвертка", "ladder", "bike",
+                "лестница", "ударная", "простая", "x", "аккумулятор", "2000");
+        Random random = new Random(42);
+        List<String> queries = new ArrayList<>(List.of("ll-2", "r", "00", "ДР", "a b", "  "));
+        for (int i = 0; i < 200; i++) {
+            String name = words.get(random.nextInt(words.size())) + " " + words.get(random.nextInt(words.size()));
+            String description = words.get(random.nextInt(words.size())) + "-"
+                    + words.get(random.nextInt(words.size()));
+            itemService.addNewItem(1L, new ItemDto(null, name, description, random.nextInt(4) != 0, null));
+            int from = random.nextInt(name.length());
+            queries.add(name.substring(from, Math.min(name.length(), from + 1 + random.nextInt(6))));
+        }
+
+        for (String text : queries) {
+            List<ItemDto> expected = ItemMapper.mapToItemDto(itemRepository.searchByText(text));
+
+            assertThat(text, itemService.searchItemsByText(text, null, null, 1L), equalTo(expected));
+        }
+    }
+
+    @Test
+    void shouldReflectItemUpdates() throws Exception {
+        itemService.updateItem(1L, new ItemDto(null, "Перфоратор", "Мощный", null, null), 1L);
+
+        assertThat(itemService.searchItemsByText("дрель", null, null, 1L), hasSize(1));
+        assertThat(itemService.searchItemsByText("перфоратор", null, null, 1L), hasSize(1));
+        assertThat(itemSearchIndex.check().get("consistent"), is(true));
+    }
+
+    @Test
+    void shouldIgnoreUpdatesOfRolledBackTransactions() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemSearchIndex.index(new Item(1L, "Перфоратор", "Мощный", true, 1L, null));
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemService.searchItemsByText("перфоратор", null, null, 1L), hasSize(0));
+        assertThat(itemSearchIndex.check().get("consistent"), is(true));
+    }
+
+    @Test
+    void shouldDropItemsOfDeletedOwner() throws Exception {
+        userService.createUser(UserMapper.mapToUserDto(new User(null, "other", "other@user.com")));
+        itemService.addNewItem(2L, new ItemDto(null, "Дрель", "Чужая дрель", true, null));
+        assertThat(itemService.searchItemsByText("дрель", 1, 1, 2L), hasSize(1));
+
+        userService.deleteUser(1L);
+
+        assertThat(itemService.searchItemsByText("дрель", 1, 1, 2L), hasSize(0));
+
+        assertThat(itemService.searchItemsByText("дрель", null, null, 2L), hasSize(1));
+        assertThat(itemSearchIndex.stats().get("items"), equalTo(1L));
+        assertThat(itemSearchIndex.check().get("consistent"), is(true));
+    }
+
+    @Test
+    void shouldRebuildAndCheckConsistency() {
+        assertThat(itemSearchIndex.rebuild(), is(true));
+        assertThat(itemSearchIndex.check().get("consistent"), is(true));
+        assertThat(itemSearchIndex.stats().get("items"), equalTo(5L));
+    }
+
+    @Test
+    void shouldReportAndRebuildThroughEndpoint() {
+        assertThat(itemSearchIndexEndpoint.check().get("consistent"), is(true));
+
+        Map<String, Object> stats = itemSearchIndexEndpoint.rebuild();
+
+        assertThat(stats.get("ready"), is(true));
+        assertThat(stats.get("items"), equalTo(5L));
+    }
+
+    @Test
+    void shouldReplayUpdatesCommittedDuringRebuild() {
+        ItemRepository repository = Mockito.mock(ItemRepository.class);
+        ItemSearchIndex index = new ItemSearchIndex(repository, Mockito.mock(EntityManager.class), true, 1);
+        Item drill = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+        Mockito
+                .when(repository.streamAll())
+                .thenReturn(Stream.of(drill))
+                .thenAnswer(invocation -> Stream.of(drill)
+                        .peek(item -> index.index(new Item(2L, "Перфоратор", "Мощный", true, 1L, null))));
+        index.rebuild();
+
+        assertThat(index.rebuild(), is(true));
+        assertThat(index.search("перфоратор"), hasSize(1));
+        assertThat(index.search("дрель"), hasSize(1));
+    }
+
+    @Test
+    void shouldDisableItselfWhenUpdateDuringRebuildExceedsMemoryBudget() {
+        ItemRepository repository = Mockito.mock(ItemRepository.class);
+        ItemSearchIndex index = new ItemSearchIndex(repository, Mockito.mock(EntityManager.class), true, 1);
+        Item drill = new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+        Item huge = new Item(2L, "Перфоратор", "x".repeat(300_000), true, 1L, null);
+        Mockito
+                .when(repository.streamAll())
+                .thenReturn(Stream.of(drill))
+                .thenAnswer(invocation -> Stream.of(drill).peek(item -> index.index(huge)))
+                .thenReturn(Stream.of(drill));
+        index.rebuild();
+
+        assertThat(index.rebuild(), is(false));
+        assertThat(index.isReady(), is(false));
+
+        index.remove(huge.getId());
+        assertThat(index.rebuild(), is(true));
+        assertThat(index.search("дрель"), hasSize(1));
+    }
+
+    @Test
+    void shouldDisableItselfWhenOverMemoryBudget() {
+        ItemSearchIndex smallIndex = new ItemSearchIndex(itemRepository, em, true, 0);
+
+        assertThat(new TransactionTemplate(transactionManager).execute(status -> smallIndex.rebuild()), is(false));
+        assertThat(smallIndex.isReady(), is(false));
+    }
+}
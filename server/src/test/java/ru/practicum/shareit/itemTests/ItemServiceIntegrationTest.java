@@ -1,6 +1,8 @@
 package ru.practicum.shareit.itemTests;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,9 +28,10 @@ import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -187,4 +190,64 @@ public class ItemServiceIntegrationTest {
 
         assertThat(testItems, equalTo(items));
     }
+
+    @Test
+    void shouldGetAllItemsByUserIdWithConstantQueryCount() throws Exception {
+        userService.createUser(userDto);
+        userService.createUser(bookerDto);
+        addItemWithBookingsAndComment();
+        long statementsForOneItem = countStatementsOfGetAllItemsByUserId();
+
+        for (int i = 0; i < 4; i++) {
+            addItemWithBookingsAndComment();
+        }
+        long statementsForFiveItems = countStatementsOfGetAllItemsByUserId();
+
+        assertThat(statementsForFiveItems, equalTo(statementsForOneItem));
+        List<ItemDtoForGet> items = itemService.getAllItemsByUserId(1L, null, null);
+        assertThat(items, hasSize(5));
+        assertThat(items.get(0).getLastBooking(), notNullValue());
+        assertThat(items.get(0).getNextBooking(), notNullValue());
+        assertThat(items.get(0).getComments(), hasSize(1));
+    }
+
+    @Test
+    void shouldGetItemAvailability() throws Exception {
+        userService.createUser(userDto);
+        userService.createUser(bookerDto);
+        itemService.addNewItem(1L, itemDto);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 12, 12, 0);
+        bookingService.addNewBooking(2L, new BookingDto(null, start, end, 1L, null, null, null));
+        bookingService.addNewBooking(2L, new BookingDto(null, end.plusDays(1), end.plusDays(2), 1L,
+                null, null, null));
+        bookingService.changeBookingStatus(1L, 1L, true);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        ItemAvailabilityDto availability = itemService.getItemAvailability(1L, from, to, 1L);
+
+        assertThat(availability.getSlots(), equalTo(List.of(
+                new AvailabilitySlotDto(from, start, true),
+                new AvailabilitySlotDto(start, end, false),
+                new AvailabilitySlotDto(end, to, true))));
+    }
+
+    private void addItemWithBookingsAndComment() throws Exception {
+        Long itemId = itemService.addNewItem(1L, new ItemDto(null, "Дрель", "Простая дрель", true, null)).getId();
+        bookingService.addNewBooking(2L, new BookingDto(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), itemId, null, null, null));
+        bookingService.addNewBooking(2L, new BookingDto(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), itemId, null, null, null));
+        itemService.addNewComment(2L, itemId, commentDto);
+    }
+
+    private long countStatementsOfGetAllItemsByUserId() throws Exception {
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        itemService.getAllItemsByUserId(1L, null, null);
+        return statistics.getPrepareStatementCount();
+    }
 }
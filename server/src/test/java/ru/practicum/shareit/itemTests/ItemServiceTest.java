@@ -1,5 +1,6 @@
 package ru.practicum.shareit.itemTests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -11,6 +12,7 @@ import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
@@ -23,16 +25,24 @@ import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForGet;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.*;
 
+import java.time.Duration;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -49,10 +59,17 @@ public class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
     @Mock
+    private ExistenceChecker existenceChecker;
+    @Mock
     private UserService userService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemOccupancy itemOccupancy;
     @Lazy
     @Mock
     private BookingService bookingService;
+    private final Clock clock = Clock.fixed(Instant.parse("2022-10-10T10:00:00Z"), ZoneOffset.UTC);
     private ItemService itemService;
     private MockitoSession session;
 
@@ -85,7 +102,13 @@ public class ItemServiceTest {
                 itemRepository,
                 bookingRepository,
                 commentRepository,
+                existenceChecker,
                 userService,
+                itemSearchIndex,
+                new ItemSearchCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new ItemViewCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                itemOccupancy,
+                clock,
                 bookingService
         );
     }
@@ -127,8 +150,8 @@ public class ItemServiceTest {
     @Test
     void shouldUpdateItem() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(item));
+                .when(existenceChecker.exists(eq(Item.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.getById(1L))
                 .thenReturn(item);
@@ -148,10 +171,10 @@ public class ItemServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(itemRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Item.class), anyLong());
         Mockito
-                .verify(itemRepository, Mockito.times(1))
+                .verify(itemRepository, Mockito.times(2))
                 .getById(1L);
         Mockito
                 .verify(itemRepository, Mockito.times(1))
@@ -168,8 +191,8 @@ public class ItemServiceTest {
     @Test
     void shouldUpdateItemNullFields() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(item));
+                .when(existenceChecker.exists(eq(Item.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.getById(1L))
                 .thenReturn(item);
@@ -197,10 +220,10 @@ public class ItemServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(itemRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Item.class), anyLong());
         Mockito
-                .verify(itemRepository, Mockito.times(4))
+                .verify(itemRepository, Mockito.times(2))
                 .getById(1L);
         Mockito
                 .verify(itemRepository, Mockito.times(1))
@@ -216,26 +239,19 @@ public class ItemServiceTest {
 
     @Test
     void shouldGetItemByIdByOwner() throws IncorrectObjectException, IncorrectFieldException {
+        LocalDateTime now = LocalDateTime.now(clock);
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(itemForGet));
+                .when(itemRepository.findById(2L))
+                .thenReturn(Optional.of(itemForGet));
         Mockito
-                .when(itemRepository.getReferenceById(2L))
-                .thenReturn(itemForGet);
+                .when(bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now))
+                .thenReturn(Optional.of(booking));
         Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndEndBeforeNow(anyLong(), any()))
-                .thenReturn(List.of(booking));
-        Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndStartAfterNow(anyLong(), any()))
-                .thenReturn(new ArrayList<>());
+                .when(bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(2L, now))
+                .thenReturn(Optional.empty());
         Mockito
                 .when(commentRepository.findAllByItemId(2L))
                 .thenReturn(commentsEntity);
-        Mockito
-                .when(itemRepository.getById(2L))
-                .thenReturn(itemForGet);
 
         ItemDtoForGet itemDtoGot = itemService.getItemById(2L, 1L);
 
@@ -248,27 +264,24 @@ public class ItemServiceTest {
         Assertions.assertEquals(itemDtoForGet.getComments(), itemDtoGot.getComments());
         Assertions.assertEquals(itemDtoForGet.getRequestId(), itemDtoGot.getRequestId());
 
-        Mockito
-                .verify(itemRepository, Mockito.times(2))
-                .findAll();
         Mockito
                 .verify(itemRepository, Mockito.times(1))
-                .getReferenceById(2L);
+                .findById(2L);
+        Mockito
+                .verify(bookingRepository, Mockito.times(1))
+                .findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemIdAndEndBeforeNow(anyLong(), any());
+                .findFirstByItemIdAndStartAfterOrderByStartAsc(2L, now);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemIdAndStartAfterNow(anyLong(), any());
+                .findNearestEndAfter(2L, now);
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
                 .verify(commentRepository, Mockito.times(1))
                 .findAllByItemId(2L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .getById(2L);
         Mockito
                 .verifyNoMoreInteractions(itemRepository,
                         bookingRepository,
@@ -281,27 +294,11 @@ public class ItemServiceTest {
     @Test
     void shouldGetItemByIdByBooker() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(itemForGet));
-        Mockito
-                .when(itemRepository.getReferenceById(2L))
-                .thenReturn(itemForGet);
-        Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndEndBeforeNow(2L,
-                        LocalDateTime.now()))
-                .thenReturn(List.of(booking));
-        Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndStartAfterNow(2L,
-                        LocalDateTime.now()))
-                .thenReturn(new ArrayList<>());
+                .when(itemRepository.findById(2L))
+                .thenReturn(Optional.of(itemForGet));
         Mockito
                 .when(commentRepository.findAllByItemId(2L))
                 .thenReturn(commentsEntity);
-        Mockito
-                .when(itemRepository.getById(2L))
-                .thenReturn(itemForGet);
 
         ItemDtoForGet itemDtoGot = itemService.getItemById(2L, 2L);
 
@@ -314,21 +311,15 @@ public class ItemServiceTest {
         Assertions.assertEquals(itemDtoForGet.getComments(), itemDtoGot.getComments());
         Assertions.assertEquals(itemDtoForGet.getRequestId(), itemDtoGot.getRequestId());
 
-        Mockito
-                .verify(itemRepository, Mockito.times(2))
-                .findAll();
         Mockito
                 .verify(itemRepository, Mockito.times(1))
-                .getReferenceById(2L);
+                .findById(2L);
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(2L);
         Mockito
                 .verify(commentRepository, Mockito.times(1))
                 .findAllByItemId(2L);
-        Mockito
-                .verify(itemRepository, Mockito.times(1))
-                .getById(2L);
         Mockito
                 .verifyNoMoreInteractions(itemRepository,
                         bookingRepository,
@@ -338,21 +329,107 @@ public class ItemServiceTest {
                 );
     }
 
+    @Test
+    void shouldGetItemByIdFromCache() throws IncorrectObjectException, IncorrectFieldException {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Mockito
+                .when(itemRepository.findById(2L))
+                .thenReturn(Optional.of(itemForGet));
+        Mockito
+                .when(bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now))
+                .thenReturn(Optional.of(booking));
+        Mockito
+                .when(bookingRepository.findNearestEndAfter(2L, now))
+                .thenReturn(now.plusDays(1));
+        Mockito
+                .when(commentRepository.findAllByItemId(2L))
+                .thenReturn(commentsEntity);
+
+        ItemDtoForGet first = itemService.getItemById(2L, 1L);
+        ItemDtoForGet second = itemService.getItemById(2L, 1L);
+        ItemDtoForGet byBooker = itemService.getItemById(2L, 2L);
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.getComments(), byBooker.getComments());
+        Assertions.assertNull(byBooker.getLastBooking());
+        Mockito
+                .verify(itemRepository, Mockito.times(1))
+                .findById(2L);
+        Mockito
+                .verify(bookingRepository, Mockito.times(1))
+                .findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now);
+        Mockito
+                .verify(commentRepository, Mockito.times(1))
+                .findAllByItemId(2L);
+    }
+
+    @Test
+    void shouldShowRenamedItemInOwnerBookingsAfterUpdate() throws IncorrectObjectException, IncorrectFieldException {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Item renamed = new Item(2L, "Перфоратор", "Простая дрель", true, 1L, null);
+        Booking bookingOfRenamed = new Booking(2L, booking.getStart(), booking.getEnd(), renamed, booker,
+                BookingStatus.WAITING);
+        Mockito
+                .when(itemRepository.findById(2L))
+                .thenReturn(Optional.of(itemForGet))
+                .thenReturn(Optional.of(renamed));
+        Mockito
+                .when(bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now))
+                .thenReturn(Optional.of(booking))
+                .thenReturn(Optional.of(bookingOfRenamed));
+        Mockito
+                .when(bookingRepository.findNearestEndAfter(2L, now))
+                .thenReturn(now.plusDays(1));
+        Mockito
+                .when(commentRepository.findAllByItemId(2L))
+                .thenReturn(commentsEntity);
+        Mockito
+                .when(existenceChecker.exists(Item.class, 2L))
+                .thenReturn(true);
+        Mockito
+                .when(itemRepository.getById(2L))
+                .thenReturn(itemForGet);
+        Mockito
+                .when(itemRepository.save(any()))
+                .thenReturn(renamed);
+
+        itemService.getItemById(2L, 1L);
+        itemService.updateItem(1L, new ItemDto(null, "Перфоратор", null, null, null), 2L);
+        ItemDtoForGet itemDtoGot = itemService.getItemById(2L, 1L);
+
+        Assertions.assertEquals("Перфоратор", itemDtoGot.getName());
+        Assertions.assertEquals("Перфоратор", itemDtoGot.getLastBooking().getItemName());
+        Mockito
+                .verify(bookingRepository, Mockito.times(2))
+                .findFirstByItemIdAndEndBeforeOrderByEndDesc(2L, now);
+    }
+
+    @Test
+    void shouldNotGetItemByIdWhenItemMissing() {
+        Mockito
+                .when(itemRepository.findById(99L))
+                .thenReturn(Optional.empty());
+
+        final IncorrectObjectException exception = Assertions.assertThrows(
+                IncorrectObjectException.class,
+                () -> itemService.getItemById(99L, 1L));
+
+        Assertions.assertEquals("There is no item with such ID", exception.getMessage());
+    }
+
     @Test
     void shouldGetAllItemsByUserId() throws IncorrectObjectException {
         Mockito
                 .when(itemRepository.findAllByOwnerId(1L))
                 .thenReturn(List.of(itemForGet));
         Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndEndBeforeNow(anyLong(), any()))
+                .when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any()))
                 .thenReturn(List.of(booking));
         Mockito
-                .lenient()
-                .when(bookingRepository.findAllByItemIdAndStartAfterNow(anyLong(), any()))
+                .when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any()))
                 .thenReturn(new ArrayList<>());
         Mockito
-                .when(commentRepository.findAllByItemId(2L))
+                .when(commentRepository.findAllByItemIdIn(List.of(2L)))
                 .thenReturn(commentsEntity);
 
         List<ItemDtoForGet> items = itemService.getAllItemsByUserId(1L, null, null);
@@ -374,13 +451,13 @@ public class ItemServiceTest {
                 .findAllByOwnerId(1L);
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemIdAndEndBeforeNow(anyLong(), any());
+                .findLastBookingsByItemIds(eq(List.of(2L)), any());
         Mockito
                 .verify(bookingRepository, Mockito.times(1))
-                .findAllByItemIdAndStartAfterNow(anyLong(), any());
+                .findNextBookingsByItemIds(eq(List.of(2L)), any());
         Mockito
                 .verify(commentRepository, Mockito.times(1))
-                .findAllByItemId(2L);
+                .findAllByItemIdIn(List.of(2L));
         Mockito
                 .verifyNoMoreInteractions(itemRepository,
                         bookingRepository,
@@ -444,6 +521,82 @@ public class ItemServiceTest {
                 );
     }
 
+    @Test
+    void shouldSearchItemsByTextFromCache() throws IncorrectObjectException {
+        Mockito
+                .when(itemRepository.searchByText(anyString()))
+                .thenReturn(List.of(item));
+
+        List<ItemDto> items = itemService.searchItemsByText("дрель", null, null, 1L);
+        List<ItemDto> cachedItems = itemService.searchItemsByText("ДРЕЛЬ", null, null, 1L);
+
+        Assertions.assertEquals(items, cachedItems);
+
+        Mockito
+                .verify(itemRepository, Mockito.times(1))
+                .searchByText("дрель");
+        Mockito
+                .verify(userService, Mockito.times(2))
+                .checkUserExist(1L);
+        Mockito
+                .verifyNoMoreInteractions(itemRepository,
+                        bookingRepository,
+                        commentRepository,
+                        userService,
+                        bookingService
+                );
+    }
+
+    @Test
+    void shouldSearchItemsByTextAgainAfterItemUpdate() throws IncorrectObjectException, IncorrectFieldException {
+        Mockito
+                .when(itemRepository.searchByText(anyString()))
+                .thenReturn(List.of(item));
+        Mockito
+                .when(existenceChecker.exists(Item.class, 1L))
+                .thenReturn(true);
+        Mockito
+                .when(itemRepository.getById(1L))
+                .thenReturn(item);
+        Mockito
+                .when(itemRepository.save(any()))
+                .thenReturn(item);
+
+        itemService.searchItemsByText("дрель", null, null, 1L);
+        itemService.updateItem(1L, itemDto, 1L);
+        itemService.searchItemsByText("дрель", null, null, 1L);
+
+        Mockito
+                .verify(itemRepository, Mockito.times(2))
+                .searchByText("дрель");
+    }
+
+    @Test
+    void shouldSearchItemsByTextFromIndex() throws IncorrectObjectException {
+        ItemDto secondItemDto = new ItemDto(2L, "Дрель", "Ударная дрель", true, null);
+        Mockito
+                .when(itemSearchIndex.isReady())
+                .thenReturn(true);
+        Mockito
+                .when(itemSearchIndex.search("дрель"))
+                .thenReturn(List.of(itemDto, secondItemDto));
+
+        List<ItemDto> items = itemService.searchItemsByText("дрель", 1, 1, 1L);
+
+        Assertions.assertEquals(List.of(secondItemDto), items);
+
+        Mockito
+                .verify(userService, Mockito.times(1))
+                .checkUserExist(1L);
+        Mockito
+                .verifyNoMoreInteractions(itemRepository,
+                        bookingRepository,
+                        commentRepository,
+                        userService,
+                        bookingService
+                );
+    }
+
     @Test
     void shouldSearchItemsByNullText() throws IncorrectObjectException {
         List<ItemDto> items = itemService.searchItemsByText("", null, null, 1L);
@@ -468,8 +621,8 @@ public class ItemServiceTest {
     @Test
     void shouldAddNewComment() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(itemForGet));
+                .when(existenceChecker.exists(eq(Item.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.getById(2L))
                 .thenReturn(itemForGet);
@@ -485,26 +638,26 @@ public class ItemServiceTest {
         Assertions.assertEquals(commentDto.getId(), newCommentDto.getId());
         Assertions.assertEquals(commentDto.getText(), newCommentDto.getText());
         Assertions.assertEquals(commentDto.getAuthorName(), newCommentDto.getAuthorName());
-        Assertions.assertNotEquals(LocalDateTime.now(), newCommentDto.getCreated());
+        Assertions.assertNotEquals(LocalDateTime.now(clock), newCommentDto.getCreated());
 
         Mockito
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(2L);
         Mockito
-                .verify(itemRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(Item.class), anyLong());
         Mockito
                 .verify(itemRepository, Mockito.times(1))
                 .getById(2L);
         Mockito
                 .verify(bookingService, Mockito.times(1))
-                .checkCorrectItemBookerAndBookingEnded(2L, 2L);
+                .checkCorrectItemBookerAndBookingEnded(2L, 2L, LocalDateTime.now(clock));
         Mockito
                 .verify(userService, Mockito.times(1))
                 .getUserById(2L);
         Mockito
                 .verify(commentRepository, Mockito.times(1))
-                .save(any());
+                .save(argThat(c -> c.getCreated().equals(LocalDateTime.now(clock))));
         Mockito
                 .verifyNoMoreInteractions(itemRepository,
                         bookingRepository,
@@ -520,7 +673,7 @@ public class ItemServiceTest {
                 .when(itemRepository.findAllByOwnerIdByPages(anyLong(), any()))
                 .thenReturn(List.of(item));
         Mockito
-                .when(commentRepository.findAllByItemId(1L))
+                .when(commentRepository.findAllByItemIdIn(List.of(1L)))
                 .thenReturn(new ArrayList<>());
 
         List<ItemDtoForGet> items = itemService.getAllItemsByUserId(2L, 1, 2);
@@ -542,10 +695,13 @@ public class ItemServiceTest {
                 .findAllByOwnerIdByPages(anyLong(), any());
         Mockito
                 .verify(bookingRepository, Mockito.times(0))
-                .findAllByItemIdAndEndBeforeNow(anyLong(), any());
+                .findLastBookingsByItemIds(anyCollection(), any());
         Mockito
                 .verify(bookingRepository, Mockito.times(0))
-                .findAllByItemIdAndStartAfterNow(anyLong(), any());
+                .findNextBookingsByItemIds(anyCollection(), any());
+        Mockito
+                .verify(commentRepository, Mockito.times(1))
+                .findAllByItemIdIn(List.of(1L));
         Mockito
                 .verifyNoMoreInteractions(itemRepository,
                         bookingRepository,
@@ -617,8 +773,8 @@ public class ItemServiceTest {
         Assertions.assertEquals("There is no item with such ID", exception1.getMessage());
 
         Mockito
-                .when(itemRepository.findAll())
-                .thenReturn(List.of(item));
+                .when(existenceChecker.exists(eq(Item.class), anyLong()))
+                .thenReturn(false);
 
         final IncorrectObjectException exception2 = Assertions.assertThrows(
                 IncorrectObjectException.class,
@@ -626,8 +782,8 @@ public class ItemServiceTest {
         Assertions.assertEquals("There is no item with such ID", exception2.getMessage());
 
         Mockito
-                .verify(itemRepository, Mockito.times(3))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(2))
+                .exists(eq(Item.class), anyLong());
     }
 
     @Test
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.itemTests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ItemViewCacheTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final LocalDateTime now = LocalDateTime.of(2022, 10, 10, 10, 0);
+    private ItemViewCache cache;
+
+    @BeforeEach
+    void init() {
+        cache = new ItemViewCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void shouldReturnCopiesOfCachedItem() {
+        Item first = cache.getItem(1L, this::loadItem);
+        first.setName("Изменено");
+        Item second = cache.getItem(1L, this::loadItem);
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals("Дрель", second.getName());
+    }
+
+    @Test
+    void shouldNotCacheMissingItem() {
+        Assertions.assertNull(cache.getItem(1L, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        cache.getItem(1L, this::loadItem);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldReloadEvictedLayersOnly() {
+        cache.getItem(1L, this::loadItem);
+        cache.getComments(1L, this::loadComments);
+
+        cache.evictComments(1L);
+        cache.getItem(1L, this::loadItem);
+        cache.getComments(1L, this::loadComments);
+
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheItemEvictedWhileLoading() {
+        cache.getItem(1L, () -> {
+            cache.evictItem(1L);
+            return loadItem();
+        });
+        cache.getItem(1L, this::loadItem);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldCacheItemWhenOtherItemIsEvictedWhileLoading() {
+        cache.getItem(1L, () -> {
+            cache.evictItem(2L);
+            return loadItem();
+        });
+        cache.getItem(1L, this::loadItem);
+
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReloadBookingsAfterSnapshotExpires() {
+        cache.getBookings(1L, now, () -> loadBookings(now.plusHours(1)));
+        cache.getBookings(1L, now.plusMinutes(59), () -> loadBookings(now.plusHours(1)));
+        cache.getBookings(1L, now.plusHours(1), () -> loadBookings(null));
+        cache.getBookings(1L, now.plusYears(1), () -> loadBookings(null));
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldReloadBookingsAfterEviction() {
+        cache.getBookings(1L, now, () -> loadBookings(null));
+        cache.evictBookings(1L);
+        cache.getBookings(1L, now, () -> loadBookings(null));
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldPublishMetricsPerLayer() {
+        cache.getItem(1L, this::loadItem);
+        cache.getItem(1L, this::loadItem);
+
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", ItemViewCache.ITEMS_CACHE_NAME).tag("result", "hit").functionCounter().count());
+        Assertions.assertNotNull(meterRegistry.find("cache.size")
+                .tag("cache", ItemViewCache.COMMENTS_CACHE_NAME).gauge());
+        Assertions.assertNotNull(meterRegistry.find("cache.size")
+                .tag("cache", ItemViewCache.BOOKINGS_CACHE_NAME).gauge());
+    }
+
+    private Item loadItem() {
+        loads.incrementAndGet();
+        return new Item(1L, "Дрель", "Простая дрель", true, 1L, null);
+    }
+
+    private List<CommentDto> loadComments() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    private ItemViewCache.BookingSnapshot loadBookings(LocalDateTime validUntil) {
+        loads.incrementAndGet();
+        return new ItemViewCache.BookingSnapshot(null, null, validUntil);
+    }
+}
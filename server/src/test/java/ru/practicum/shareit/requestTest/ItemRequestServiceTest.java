@@ -13,6 +13,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.item.ItemRepository;
@@ -29,8 +30,11 @@ import ru.practicum.shareit.request.dto.ItemRequestForGetMapper;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.user.*;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +49,9 @@ public class ItemRequestServiceTest {
     UserService userService;
     @Mock
     ItemRepository itemRepository;
+    @Mock
+    ExistenceChecker existenceChecker;
+    private final Clock clock = Clock.fixed(Instant.parse("2022-10-10T10:00:00Z"), ZoneOffset.UTC);
     private ItemRequestService itemRequestService;
     private MockitoSession session;
 
@@ -66,7 +73,9 @@ public class ItemRequestServiceTest {
         itemRequestService = new ItemRequestServiceImpl(
                 itemRequestRepository,
                 userService,
-                itemRepository
+                itemRepository,
+                existenceChecker,
+                clock
         );
     }
 
@@ -95,7 +104,7 @@ public class ItemRequestServiceTest {
                 .getUserById(1L);
         Mockito
                 .verify(itemRequestRepository, Mockito.times(1))
-                .save(any());
+                .save(argThat(request -> request.getCreated().equals(LocalDateTime.now(clock))));
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -110,7 +119,7 @@ public class ItemRequestServiceTest {
                 .when(itemRequestRepository.findAllByRequesterId(1L))
                 .thenReturn(List.of(itemRequest));
         Mockito
-                .when(itemRepository.findAllByRequestId(1L))
+                .when(itemRepository.findAllByRequestIdIn(List.of(1L)))
                 .thenReturn(List.of(item));
 
         List<ItemRequestForGetDto> requests = itemRequestService.getAllItemRequestsByRequesterId(1L);
@@ -128,7 +137,7 @@ public class ItemRequestServiceTest {
                 .findAllByRequesterId(1L);
         Mockito
                 .verify(itemRepository, Mockito.times(1))
-                .findAllByRequestId(1L);
+                .findAllByRequestIdIn(List.of(1L));
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -167,7 +176,7 @@ public class ItemRequestServiceTest {
                 .when(itemRequestRepository.findAll(1L))
                 .thenReturn(List.of(itemRequest));
         Mockito
-                .when(itemRepository.findAllByRequestId(1L))
+                .when(itemRepository.findAllByRequestIdIn(List.of(1L)))
                 .thenReturn(List.of(item));
 
         List<ItemRequestForGetDto> requests = itemRequestService.getAllItemRequests(1L, null, null);
@@ -185,7 +194,7 @@ public class ItemRequestServiceTest {
                 .findAll(1L);
         Mockito
                 .verify(itemRepository, Mockito.times(1))
-                .findAllByRequestId(1L);
+                .findAllByRequestIdIn(List.of(1L));
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -227,7 +236,7 @@ public class ItemRequestServiceTest {
                 .when(itemRequestRepository.findAllByPages(1L, sortedDesc))
                 .thenReturn(List.of(itemRequest));
         Mockito
-                .when(itemRepository.findAllByRequestId(1L))
+                .when(itemRepository.findAllByRequestIdIn(List.of(1L)))
                 .thenReturn(List.of(item));
 
         List<ItemRequestForGetDto> requests = itemRequestService.getAllItemRequests(1L, from, size);
@@ -245,7 +254,7 @@ public class ItemRequestServiceTest {
                 .findAllByPages(1L, sortedDesc);
         Mockito
                 .verify(itemRepository, Mockito.times(1))
-                .findAllByRequestId(1L);
+                .findAllByRequestIdIn(List.of(1L));
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -284,8 +293,8 @@ public class ItemRequestServiceTest {
     @Test
     void shouldGetItemRequestById() throws IncorrectObjectException {
         Mockito
-                .when(itemRequestRepository.findAll())
-                .thenReturn(List.of(itemRequest));
+                .when(existenceChecker.exists(eq(ItemRequest.class), anyLong()))
+                .thenReturn(true);
         Mockito
                 .when(itemRepository.findAllByRequestId(1L))
                 .thenReturn(List.of(item));
@@ -304,8 +313,8 @@ public class ItemRequestServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(itemRequestRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(ItemRequest.class), anyLong());
         Mockito
                 .verify(itemRepository, Mockito.times(1))
                 .findAllByRequestId(1L);
@@ -320,8 +329,8 @@ public class ItemRequestServiceTest {
     @Test
     void shouldGetItemRequestByIdFails1() throws IncorrectObjectException {
         Mockito
-                .when(itemRequestRepository.findAll())
-                .thenReturn(List.of(itemRequest));
+                .when(existenceChecker.exists(eq(ItemRequest.class), anyLong()))
+                .thenReturn(false);
 
         final IncorrectObjectException exception1 = Assertions.assertThrows(
                 IncorrectObjectException.class,
@@ -332,8 +341,8 @@ public class ItemRequestServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(itemRequestRepository, Mockito.times(2))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(ItemRequest.class), anyLong());
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -345,8 +354,8 @@ public class ItemRequestServiceTest {
     @Test
     void shouldGetItemRequestByIdFails2() throws IncorrectObjectException {
         Mockito
-                .when(itemRequestRepository.findAll())
-                .thenReturn(new ArrayList<>());
+                .when(existenceChecker.exists(eq(ItemRequest.class), anyLong()))
+                .thenReturn(false);
 
         final IncorrectObjectException exception1 = Assertions.assertThrows(
                 IncorrectObjectException.class,
@@ -357,8 +366,8 @@ public class ItemRequestServiceTest {
                 .verify(userService, Mockito.times(1))
                 .checkUserExist(1L);
         Mockito
-                .verify(itemRequestRepository, Mockito.times(1))
-                .findAll();
+                .verify(existenceChecker, Mockito.times(1))
+                .exists(eq(ItemRequest.class), anyLong());
         Mockito
                 .verifyNoMoreInteractions(
                         itemRequestRepository,
@@ -8,10 +8,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import ru.practicum.shareit.EtagConfig;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
 import ru.practicum.shareit.user.*;
@@ -21,12 +26,15 @@ import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static org.hamcrest.Matchers.is;
 
 @WebMvcTest(UserController.class)
+@Import(EtagConfig.class)
 @AutoConfigureMockMvc
 public class UserControllerTest {
     private final ObjectMapper mapper = new ObjectMapper();
@@ -34,6 +42,10 @@ public class UserControllerTest {
     private final UserService userService;
     @Autowired
     private MockMvc mvc;
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter;
     private final UserDto userDto = UserMapper.mapToUserDto(new User(1L, "user", "user@user.com"));
     private final UserDto userNoEmailDto = UserMapper.mapToUserDto(new User(2L, "user", ""));
 
@@ -144,6 +156,52 @@ public class UserControllerTest {
                 .getUserById(1L);
     }
 
+    @Test
+    void shouldAnswerNotModifiedForMatchingEtag() throws Exception {
+        when(userService.getUserById(1L))
+                .thenReturn(userDto);
+        MockMvc etagMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .addFilter(etagFilter.getFilter(), etagFilter.getUrlPatterns().toArray(new String[0]))
+                .build();
+
+        String etag = etagMvc.perform(get("/users/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        etagMvc.perform(get("/users/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        userDto.setName("renamed");
+        etagMvc.perform(get("/users/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("renamed")));
+    }
+
+    @Test
+    void shouldNotTagUserList() throws Exception {
+        when(userService.getAllUsers())
+                .thenReturn(List.of(userDto));
+        MockMvc etagMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .addFilter(etagFilter.getFilter(), etagFilter.getUrlPatterns().toArray(new String[0]))
+                .build();
+
+        etagMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     void shouldFindByIdFailNotFound() throws Exception {
         when(userService.getUserById(2L))
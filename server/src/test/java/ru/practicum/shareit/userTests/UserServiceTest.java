@@ -1,5 +1,6 @@
 package ru.practicum.shareit.userTests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -10,14 +11,26 @@ import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ExistenceChecker;
+import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.IncorrectFieldException;
 import ru.practicum.shareit.exception.IncorrectObjectException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.item.availability.ItemOccupancy;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.*;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -25,6 +38,20 @@ public class UserServiceTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ExistenceChecker existenceChecker;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemOccupancy itemOccupancy;
+    @Mock
+    private ItemViewCache itemViewCache;
     private UserService userService;
     private MockitoSession session;
     private final User userCorrect = new User(1L, "user", "user@user.com");
@@ -37,7 +64,16 @@ public class UserServiceTest {
     @BeforeEach
     void init() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository,
+                itemRepository,
+                bookingRepository,
+                commentRepository,
+                existenceChecker,
+                new UserCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                itemSearchIndex,
+                new ItemSearchCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                itemOccupancy,
+                itemViewCache);
     }
 
     @AfterEach
@@ -60,6 +96,9 @@ public class UserServiceTest {
         Mockito
                 .verify(userRepository, Mockito.times(1))
                 .save(userCorrect);
+        Mockito
+                .verify(existenceChecker, Mockito.times(1))
+                .evict(User.class, 1L);
         Mockito
                 .verifyNoMoreInteractions(userRepository);
     }
@@ -67,8 +106,8 @@ public class UserServiceTest {
     @Test
     void shouldUpdateUserCorrect() throws IncorrectObjectException, IncorrectFieldException {
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(userCorrect));
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect));
         Mockito
                 .when(userRepository.save(any()))
                 .thenReturn(userCorrect);
@@ -80,25 +119,49 @@ public class UserServiceTest {
         Assertions.assertEquals(userCorrectDto.getEmail(), updatedUser.getEmail());
 
         Mockito
-                .verify(userRepository, Mockito.times(2))
-                .findAll();
+                .verify(userRepository, Mockito.times(1))
+                .findById(1L);
         Mockito
                 .verify(userRepository, Mockito.times(1))
                 .save(userCorrect);
         Mockito
                 .verifyNoMoreInteractions(userRepository);
+        Mockito
+                .verifyNoInteractions(commentRepository, itemViewCache);
     }
 
     @Test
-    void shouldUpdateUserCorrectZeroFields() throws IncorrectObjectException, IncorrectFieldException {
+    void shouldEvictCommentsOfRenamedAuthor() throws IncorrectObjectException, IncorrectFieldException {
+        User renamed = new User(1L, "renamed", "user@user.com");
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(userCorrect));
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect));
         Mockito
                 .when(userRepository.save(any()))
-                .thenReturn(userCorrect);
+                .thenReturn(renamed);
+        Mockito
+                .when(commentRepository.findItemIdsByAuthorId(1L))
+                .thenReturn(List.of(3L, 4L));
+
+        userService.updateUser(new UserDto(null, "renamed", null), 1L);
+
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictComments(3L);
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictComments(4L);
+        Mockito
+                .verifyNoMoreInteractions(itemViewCache);
+    }
+
+    @Test
+    void shouldUpdateUserCorrectZeroFields() throws IncorrectObjectException, IncorrectFieldException {
+        Mockito
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect));
         Mockito
-                .when(userRepository.getById(1L))
+                .when(userRepository.save(any()))
                 .thenReturn(userCorrect);
         String email = userCorrectDto.getEmail();
         String name = userCorrectDto.getName();
@@ -113,14 +176,11 @@ public class UserServiceTest {
         Assertions.assertEquals(userCorrectDto.getEmail(), updatedUser.getEmail());
 
         Mockito
-                .verify(userRepository, Mockito.times(2))
-                .findAll();
+                .verify(userRepository, Mockito.times(1))
+                .findById(1L);
         Mockito
                 .verify(userRepository, Mockito.times(1))
                 .save(userCorrect);
-        Mockito
-                .verify(userRepository, Mockito.times(2))
-                .getById(1L);
         Mockito
                 .verifyNoMoreInteractions(userRepository);
     }
@@ -128,8 +188,8 @@ public class UserServiceTest {
     @Test
     void shouldUpdateUserNoExists() {
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(new ArrayList<>());
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
 
         final IncorrectObjectException exception = Assertions.assertThrows(
                 IncorrectObjectException.class,
@@ -137,15 +197,24 @@ public class UserServiceTest {
 
         Mockito
                 .verify(userRepository, Mockito.times(1))
-                .findAll();
+                .findById(anyLong());
         Assertions.assertEquals("There is no user with such ID", exception.getMessage());
     }
 
     @Test
     void shouldDeleteUserCorrect() throws IncorrectObjectException {
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(userCorrect));
+                .when(existenceChecker.exists(User.class, 1L))
+                .thenReturn(true);
+        Mockito
+                .when(itemRepository.findAllByOwnerId(1L))
+                .thenReturn(List.of(new Item(5L, "Дрель", "Простая дрель", true, 1L, null)));
+        Mockito
+                .when(bookingRepository.findItemIdsByBookerId(1L))
+                .thenReturn(List.of(7L, 5L));
+        Mockito
+                .when(commentRepository.findItemIdsByAuthorId(1L))
+                .thenReturn(List.of(9L));
 
         userService.deleteUser(1L);
 
@@ -153,8 +222,34 @@ public class UserServiceTest {
                 .verify(userRepository, Mockito.times(1))
                 .deleteById(1L);
         Mockito
-                .verify(userRepository, Mockito.times(2))
-                .findAll();
+                .verify(itemRepository, Mockito.times(1))
+                .findAllByOwnerId(1L);
+        Mockito
+                .verify(itemSearchIndex, Mockito.times(1))
+                .removeByOwner(1L);
+        Mockito
+                .verify(itemOccupancy, Mockito.times(1))
+                .evict(Set.of(5L, 7L));
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictItem(5L);
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictBookings(5L);
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictBookings(7L);
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictComments(5L);
+        Mockito
+                .verify(itemViewCache, Mockito.times(1))
+                .evictComments(9L);
+        Mockito
+                .verifyNoMoreInteractions(itemViewCache);
+        Mockito
+                .verify(existenceChecker, Mockito.times(1))
+                .evictAll();
         Mockito
                 .verifyNoMoreInteractions(userRepository);
     }
@@ -162,27 +257,23 @@ public class UserServiceTest {
     @Test
     void shouldDeleteUserNoExists() {
         Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(userWrongEmail));
+                .when(existenceChecker.exists(User.class, 1L))
+                .thenReturn(false);
 
         final IncorrectObjectException exception = Assertions.assertThrows(
                 IncorrectObjectException.class,
                 () -> userService.deleteUser(1L));
 
         Mockito
-                .verify(userRepository, Mockito.times(2))
-                .findAll();
+                .verifyNoInteractions(userRepository);
         Assertions.assertEquals("There is no user with such ID", exception.getMessage());
     }
 
     @Test
     void shouldGetById() throws IncorrectObjectException {
         Mockito
-                .when(userRepository.getById(1L))
-                .thenReturn(userCorrect);
-        Mockito
-                .when(userRepository.findAll())
-                .thenReturn(List.of(userCorrect));
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect));
 
         UserDto getUser = userService.getUserById(1L);
 
@@ -192,10 +283,76 @@ public class UserServiceTest {
 
         Mockito
                 .verify(userRepository, Mockito.times(1))
-                .getById(1L);
+                .findById(1L);
+        Mockito
+                .verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void shouldGetByIdFromCache() throws IncorrectObjectException {
+        Mockito
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect));
+
+        userService.getUserById(1L);
+        UserDto getUser = userService.getUserById(1L);
+        getUser.setName("changed");
+
+        Assertions.assertEquals(userCorrectDto, userService.getUserById(1L));
+        Mockito
+                .verify(userRepository, Mockito.times(1))
+                .findById(1L);
+        Mockito
+                .verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void shouldWriteThroughOnCreateAndUpdate() throws IncorrectObjectException, IncorrectFieldException {
+        User renamed = new User(1L, "renamed", "user@user.com");
+        Mockito
+                .when(userRepository.save(any()))
+                .thenReturn(userCorrect)
+                .thenReturn(renamed);
+
+        userService.createUser(userCorrectDto);
+        Assertions.assertEquals(userCorrectDto, userService.getUserById(1L));
+        userService.updateUser(new UserDto(null, "renamed", null), 1L);
+
+        Assertions.assertEquals(UserMapper.mapToUserDto(renamed), userService.getUserById(1L));
+        Mockito
+                .verify(userRepository, Mockito.times(1))
+                .save(userCorrect);
+        Mockito
+                .verify(userRepository, Mockito.times(1))
+                .save(renamed);
+        Mockito
+                .verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void shouldEvictDeletedUser() throws IncorrectObjectException {
+        Mockito
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(userCorrect))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(existenceChecker.exists(User.class, 1L))
+                .thenReturn(true);
+
+        userService.getUserById(1L);
+        userService.deleteUser(1L);
+
+        final IncorrectObjectException exception = Assertions.assertThrows(
+                IncorrectObjectException.class,
+                () -> userService.getUserById(1L));
+
+        Assertions.assertEquals("There is no user with such ID", exception.getMessage());
         Mockito
                 .verify(userRepository, Mockito.times(2))
-                .findAll();
+                .findById(1L);
+        Mockito
+                .verify(userRepository, Mockito.times(1))
+                .deleteById(1L);
         Mockito
                 .verifyNoMoreInteractions(userRepository);
     }